@@ -0,0 +1,76 @@
+package com.budgetwise.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${export.executor.pool-size:4}")
+    private int exportPoolSize;
+
+    @Value("${account.deletion.executor.pool-size:1}")
+    private int accountDeletionPoolSize;
+
+    /**
+     * Bounded pool for export data gathering. When saturated the caller runs the
+     * task itself, so exports slow down instead of queueing without limit.
+     */
+    @Bean(name = "exportExecutor")
+    public Executor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportPoolSize);
+        executor.setMaxPoolSize(exportPoolSize);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Background pool for account deletions. Kept small so bulk deletes do not
+     * crowd out request traffic on the database.
+     */
+    @Bean(name = "accountDeletionExecutor")
+    public Executor accountDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(accountDeletionPoolSize);
+        executor.setMaxPoolSize(accountDeletionPoolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("account-deletion-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs AI and chat work off the request threads. Every task gets its own
+     * virtual thread, so requests waiting on the database or the AI provider
+     * do not hold platform threads; the provider bulkhead and the connection
+     * pool bound the actual load.
+     */
+    @Bean(name = "aiExecutor", destroyMethod = "close")
+    public ExecutorService aiExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-", 0).factory());
+    }
+
+    /**
+     * Scheduler that flushes debounced dashboard pushes.
+     */
+    @Bean(name = "dashboardPushScheduler")
+    public ThreadPoolTaskScheduler dashboardPushScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("dashboard-push-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
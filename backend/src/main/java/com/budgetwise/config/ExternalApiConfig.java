@@ -3,10 +3,12 @@ package com.budgetwise.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class ExternalApiConfig {
@@ -26,15 +28,23 @@ public class ExternalApiConfig {
     @Value("${dropbox.api.key}")
     private String dropboxApiKey;
     
+    /**
+     * Shared pool and dispatcher for all outbound calls; provider clients are
+     * derived from it with their own timeouts and limits (see OutboundHttpClients)
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-    
-    @Bean
-    public OkHttpClient okHttpClient() {
+    public OkHttpClient okHttpClient(
+            @Value("${outbound.pool.max-idle-connections:20}") int maxIdleConnections,
+            @Value("${outbound.pool.keep-alive-ms:300000}") long keepAliveMs,
+            @Value("${outbound.dispatcher.max-requests:64}") int maxRequests,
+            @Value("${outbound.dispatcher.max-requests-per-host:16}") int maxRequestsPerHost) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
         return new OkHttpClient.Builder()
-            .connectTimeout(Duration.ofSeconds(30))
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMs, TimeUnit.MILLISECONDS))
+            .dispatcher(dispatcher)
+            .connectTimeout(Duration.ofSeconds(10))
             .readTimeout(Duration.ofSeconds(30))
             .writeTimeout(Duration.ofSeconds(30))
             .build();
@@ -0,0 +1,41 @@
+package com.budgetwise.config;
+
+import com.budgetwise.security.LocalRateLimitStore;
+import com.budgetwise.security.RateLimitStore;
+import com.budgetwise.security.RedisRateLimitStore;
+import com.budgetwise.security.RedisTokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Chooses where rate limit buckets live. {@code rate-limit.store=local} (the
+ * default) keeps them per instance; {@code redis} shares them between all
+ * backend instances.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${rate-limit.store.max-entries:100000}")
+    private int maxEntries;
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimitStore localRateLimitStore() {
+        return new LocalRateLimitStore(Duration.ofMinutes(1).toMillis(), maxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+    public RateLimitStore redisRateLimitStore(StringRedisTemplate stringRedisTemplate,
+                                              @Value("${rate-limit.redis.prefetch:5}") int prefetch,
+                                              @Value("${rate-limit.redis.prefetch-ttl-ms:1000}") long prefetchTtlMs,
+                                              @Value("${rate-limit.redis.unavailable-cooldown-ms:5000}") long unavailableCooldownMs) {
+        return new RedisRateLimitStore(new RedisTokenBucket(stringRedisTemplate), prefetch, prefetchTtlMs, maxEntries,
+                unavailableCooldownMs);
+    }
+}
@@ -0,0 +1,37 @@
+package com.budgetwise.config;
+
+import com.budgetwise.service.WebSocketRedisBridge;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Redis pub/sub bridge between the in-memory brokers of all instances, active
+ * with {@code websocket.broker.mode=redis}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+public class WebSocketRedisBridgeConfig {
+
+    @Bean
+    public WebSocketRedisBridge webSocketRedisBridge(StringRedisTemplate stringRedisTemplate,
+                                                     SimpMessagingTemplate messagingTemplate,
+                                                     ObjectMapper objectMapper) {
+        return new WebSocketRedisBridge(stringRedisTemplate, messagingTemplate, objectMapper);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer webSocketBridgeListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          WebSocketRedisBridge bridge) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bridge, new ChannelTopic(WebSocketRedisBridge.CHANNEL));
+        return container;
+    }
+}
@@ -5,13 +5,20 @@ import com.budgetwise.security.UserPrincipal;
 import com.budgetwise.service.BudgetAdvisorService;
 import com.budgetwise.service.CategorizationService;
 import com.budgetwise.service.PredictionService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * AI endpoints. Work runs on the AI executor and the responses are completed
+ * asynchronously, so a burst of AI requests does not hold request threads.
+ */
 @RestController
 @RequestMapping("/api/ai")
 @RequiredArgsConstructor
@@ -20,28 +27,42 @@ public class AIController {
     private final PredictionService predictionService;
     private final BudgetAdvisorService budgetAdvisorService;
     private final CategorizationService categorizationService;
+    private final Executor aiExecutor;
 
     @GetMapping("/predictions")
-    public ResponseEntity<List<PredictionDto>> getPredictions(
+    public CompletableFuture<ResponseEntity<List<PredictionDto>>> getPredictions(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<PredictionDto> predictions = predictionService.predictNextMonthExpenses(userPrincipal.getId());
-        return ResponseEntity.ok(predictions);
+        Long userId = userPrincipal.getId();
+        return CompletableFuture.supplyAsync(() -> predictionService.predictNextMonthExpenses(userId), aiExecutor)
+                .thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/advice")
-    public ResponseEntity<List<BudgetAdviceDto>> getBudgetAdvice(
+    public CompletableFuture<ResponseEntity<List<BudgetAdviceDto>>> getBudgetAdvice(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<BudgetAdviceDto> advice = budgetAdvisorService.getPersonalizedAdvice(userPrincipal.getId());
-        return ResponseEntity.ok(advice);
+        Long userId = userPrincipal.getId();
+        return CompletableFuture.supplyAsync(() -> budgetAdvisorService.getPersonalizedAdvice(userId), aiExecutor)
+                .thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/categorize")
-    public ResponseEntity<CategorizationSuggestionDto> categorizeTransaction(
+    public CompletableFuture<ResponseEntity<CategorizationSuggestionDto>> categorizeTransaction(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestBody CategorizationRequestDto request) {
-        CategorizationSuggestionDto suggestion = categorizationService.suggestCategory(
-                request.getDescription(), userPrincipal.getId());
-        return ResponseEntity.ok(suggestion);
+        Long userId = userPrincipal.getId();
+        return CompletableFuture.supplyAsync(
+                        () -> categorizationService.suggestCategory(request.getDescription(), userId), aiExecutor)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/categorize/batch")
+    public CompletableFuture<ResponseEntity<List<CategorizationSuggestionDto>>> categorizeBatch(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Valid @RequestBody BatchCategorizationRequestDto request) {
+        Long userId = userPrincipal.getId();
+        return CompletableFuture.supplyAsync(
+                        () -> categorizationService.categorizeBatch(request.getDescriptions(), userId), aiExecutor)
+                .thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/categorize/learn")
@@ -1,6 +1,7 @@
 package com.budgetwise.controller;
 
 import com.budgetwise.dto.BillDto;
+import com.budgetwise.dto.BillOccurrenceDto;
 import com.budgetwise.security.UserPrincipal;
 import com.budgetwise.service.BillService;
 import jakarta.validation.Valid;
@@ -44,6 +45,13 @@ public class BillController {
         return ResponseEntity.ok(bills);
     }
 
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<BillOccurrenceDto>> getUpcomingOccurrences(
+            @RequestParam(defaultValue = "30") int days,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(billService.getUpcomingOccurrences(userPrincipal.getId(), days));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BillDto> getBillById(
             @PathVariable Long id,
@@ -5,9 +5,13 @@ import com.budgetwise.dto.ChatResponseDto;
 import com.budgetwise.security.UserPrincipal;
 import com.budgetwise.service.ChatAssistantService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -17,14 +21,28 @@ public class ChatController {
     private final ChatAssistantService chatAssistantService;
 
     @PostMapping
-    public ResponseEntity<ChatResponseDto> chat(
+    public CompletableFuture<ResponseEntity<ChatResponseDto>> chat(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody ChatRequestDto request) {
+        return chatAssistantService.chat(
+                request.getMessage(),
+                request.getConversationId(),
+                userPrincipal.getId()
+        ).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Same as {@link #chat} but streams the answer as server-sent events
+     * ({@code start}, {@code chunk}..., then {@code done} or {@code error})
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestBody ChatRequestDto request) {
-        ChatResponseDto response = chatAssistantService.chat(
+        return chatAssistantService.streamChat(
                 request.getMessage(),
                 request.getConversationId(),
                 userPrincipal.getId()
         );
-        return ResponseEntity.ok(response);
     }
 }
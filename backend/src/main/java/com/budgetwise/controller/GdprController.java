@@ -1,40 +1,82 @@
 package com.budgetwise.controller;
 
-import com.budgetwise.service.ExportService;
-import com.budgetwise.service.ProfileService;
+import com.budgetwise.dto.AccountDeletionStatusDto;
+import com.budgetwise.security.UserPrincipal;
+import com.budgetwise.service.AccountDeletionService;
+import com.budgetwise.service.GdprExportService;
 import com.budgetwise.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+
 @RestController
 @RequestMapping("/api/gdpr")
 @RequiredArgsConstructor
 public class GdprController {
 
-    private final ExportService exportService;
+    private final GdprExportService gdprExportService;
     private final UserService userService;
+    private final AccountDeletionService accountDeletionService;
 
+    /**
+     * Serves the export archive as a file resource, so Spring answers Range
+     * requests and interrupted downloads can resume. A ranged request whose
+     * If-Range names the previous archive gets its bytes; any other request
+     * gets a new archive built from current data, sent whole with 200 as an
+     * input stream, which Spring does not split into ranges.
+     */
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportUserData(@AuthenticationPrincipal UserDetails userDetails) {
-        Long userId = userService.findByEmail(userDetails.getUsername()).getId();
-        byte[] data = exportService.exportAllDataCSV(userId);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=user_data_export.csv")
-                .contentType(MediaType.TEXT_PLAIN)
-                .body(data);
+    public ResponseEntity<Resource> exportUserData(@AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange)
+            throws IOException {
+        Long userId = userPrincipal.getId();
+        String validator = range != null ? ifRange : null;
+        GdprExportService.ExportArchive archive = gdprExportService.getOrCreateArchive(userId, validator);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=user_data_export.zip")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(archive.etag())
+                .lastModified(archive.createdAt())
+                .contentType(MediaType.parseMediaType("application/zip"));
+        if (archive.matches(validator)) {
+            return response.body(new FileSystemResource(archive.path()));
+        }
+        return response.contentLength(Files.size(archive.path()))
+                .body(new InputStreamResource(Files.newInputStream(archive.path())));
     }
 
+    /**
+     * Deletion runs in the background and the caller's tokens are revoked at
+     * once, so the initial job status is returned with the response. It
+     * carries a status token for following later progress without a login.
+     */
     @DeleteMapping("/account")
-    public ResponseEntity<String> deleteAccount(@AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<AccountDeletionStatusDto> deleteAccount(@AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam String password) {
-        Long userId = userService.findByEmail(userDetails.getUsername()).getId();
+        Long userId = userPrincipal.getId();
         userService.deleteUserAccount(userId, password);
-        return ResponseEntity.ok("Account deleted successfully. We're sorry to see you go.");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(accountDeletionService.getStatus(userId));
+    }
+
+    /**
+     * Progress of an account deletion, looked up by the status token from the
+     * deletion response. Open to unauthenticated callers, since the account's
+     * tokens no longer work.
+     */
+    @GetMapping("/account/deletion/{statusToken}")
+    public ResponseEntity<AccountDeletionStatusDto> getDeletionStatus(@PathVariable String statusToken) {
+        return ResponseEntity.ok(accountDeletionService.getStatusByToken(statusToken));
     }
 }
@@ -1,17 +1,23 @@
 package com.budgetwise.controller;
 
 import com.budgetwise.dto.InvestmentDto;
+import com.budgetwise.dto.PortfolioPerformanceDto;
+import com.budgetwise.dto.PortfolioSnapshotDto;
 import com.budgetwise.dto.PortfolioSummaryDto;
 import com.budgetwise.security.UserPrincipal;
 import com.budgetwise.service.InvestmentService;
+import com.budgetwise.service.PortfolioAnalyticsService;
+import com.budgetwise.service.PriceRefreshService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +26,8 @@ import java.util.List;
 public class InvestmentController {
 
     private final InvestmentService investmentService;
+    private final PriceRefreshService priceRefreshService;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
 
     @PostMapping
     public ResponseEntity<InvestmentDto> createInvestment(
@@ -36,6 +44,16 @@ public class InvestmentController {
         return ResponseEntity.ok(investments);
     }
 
+    /**
+     * Fetch current market prices for the user's quoted holdings
+     */
+    @PostMapping("/refresh-prices")
+    public ResponseEntity<List<InvestmentDto>> refreshPrices(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        priceRefreshService.refreshForUser(userPrincipal.getId());
+        return ResponseEntity.ok(investmentService.getAllInvestments(userPrincipal.getId()));
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<PortfolioSummaryDto> getPortfolioSummary(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -43,6 +61,32 @@ public class InvestmentController {
         return ResponseEntity.ok(summary);
     }
 
+    /**
+     * Daily portfolio snapshots in a window, defaulting to the last year
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<PortfolioSnapshotDto>> getPortfolioHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return ResponseEntity.ok(portfolioAnalyticsService.getHistory(userPrincipal.getId(), start, end));
+    }
+
+    /**
+     * Time-weighted return, drawdown and allocation drift in a window, defaulting to the last year
+     */
+    @GetMapping("/performance")
+    public ResponseEntity<PortfolioPerformanceDto> getPortfolioPerformance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return ResponseEntity.ok(portfolioAnalyticsService.getPerformance(userPrincipal.getId(), start, end));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InvestmentDto> getInvestmentById(
             @PathVariable Long id,
@@ -1,8 +1,12 @@
 package com.budgetwise.controller;
 
 import com.budgetwise.dto.ContributionRequest;
+import com.budgetwise.dto.GoalContributionDto;
+import com.budgetwise.dto.GoalSimulationRequest;
+import com.budgetwise.dto.GoalSimulationResultDto;
 import com.budgetwise.dto.SavingsGoalDto;
 import com.budgetwise.security.UserPrincipal;
+import com.budgetwise.service.GoalProjectionService;
 import com.budgetwise.service.SavingsGoalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +23,7 @@ import java.util.List;
 public class SavingsGoalController {
 
     private final SavingsGoalService savingsGoalService;
+    private final GoalProjectionService goalProjectionService;
 
     @PostMapping
     public ResponseEntity<SavingsGoalDto> createGoal(
@@ -37,6 +42,18 @@ public class SavingsGoalController {
         return ResponseEntity.ok(goals);
     }
 
+    /**
+     * Monte Carlo projection of completion dates for all active goals under an
+     * optional what-if scenario
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<GoalSimulationResultDto> simulate(
+            @RequestBody(required = false) GoalSimulationRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(goalProjectionService.simulate(userPrincipal.getId(),
+                request != null ? request : new GoalSimulationRequest()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SavingsGoalDto> getGoalById(
             @PathVariable Long id,
@@ -45,6 +62,13 @@ public class SavingsGoalController {
         return ResponseEntity.ok(goal);
     }
 
+    @GetMapping("/{id}/contributions")
+    public ResponseEntity<List<GoalContributionDto>> getContributions(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(savingsGoalService.getContributions(id, userPrincipal.getId()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<SavingsGoalDto> updateGoal(
             @PathVariable Long id,
@@ -0,0 +1,23 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.entity.AccountDeletionJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDeletionStatusDto {
+    private String statusToken;
+    private AccountDeletionJob.DeletionStatus status;
+    private AccountDeletionJob.DeletionStage stage;
+    private Long deletedRows;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.budgetwise.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCategorizationRequestDto {
+    @NotEmpty(message = "Descriptions are required")
+    @Size(max = 500, message = "At most 500 descriptions per request")
+    private List<String> descriptions;
+}
@@ -42,6 +42,8 @@ public class BillDto {
 
     private Boolean autoReminder;
 
+    private Boolean autoPay;
+
     private String notes;
 
     private LocalDateTime createdAt;
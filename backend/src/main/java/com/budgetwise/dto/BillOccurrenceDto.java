@@ -0,0 +1,24 @@
+package com.budgetwise.dto;
+
+import com.budgetwise.entity.BillOccurrence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillOccurrenceDto {
+    private Long id;
+    private Long billId;
+    private String billName;
+    private LocalDate dueDate;
+    private BigDecimal amount;
+    private BillOccurrence.OccurrenceStatus status;
+    private Long transactionId;
+}
@@ -0,0 +1,26 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Net change to a user's dashboard totals since the previous push. Amounts are
+ * signed: a deleted expense shows up as a negative expense change.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardUpdateDto {
+    private BigDecimal incomeChange;
+    private BigDecimal expenseChange;
+    private Map<Long, BigDecimal> categoryChanges;
+    private Integer changeCount;
+    private LocalDateTime since;
+}
@@ -0,0 +1,24 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalContributionDto {
+    private Long transactionId;
+    private EntryType type;
+    private BigDecimal amount;
+    private LocalDate date;
+
+    public enum EntryType {
+        CONTRIBUTION, WITHDRAWAL
+    }
+}
@@ -0,0 +1,30 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalProjectionDto {
+    private Long goalId;
+    private String name;
+    private BigDecimal remainingAmount;
+    private LocalDate deadline;
+    /** Share of monthly savings assigned to the goal, in percent */
+    private BigDecimal allocationPercentage;
+    /** Completion dates by percentile of simulated paths; null when beyond the horizon */
+    private LocalDate completionP10;
+    private LocalDate completionP50;
+    private LocalDate completionP90;
+    /** Share of paths reaching the goal by its deadline, in percent; null without a deadline */
+    private BigDecimal probabilityByDeadline;
+    /** Share of paths reaching the goal within the horizon, in percent */
+    private BigDecimal probabilityWithinHorizon;
+}
@@ -0,0 +1,26 @@
+package com.budgetwise.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * What-if scenario for goal projections. Every field is optional; an empty
+ * request projects the user's historical savings and contribution split.
+ */
+@Data
+public class GoalSimulationRequest {
+    /** Number of simulated paths */
+    private Integer paths;
+    /** How many months ahead to simulate */
+    private Integer horizonMonths;
+    /** Scale applied to each simulated month's savings, e.g. 0.8 for a 20% drop */
+    private Double savingsMultiplier;
+    /** Amount added to each simulated month's savings, may be negative */
+    private BigDecimal monthlyAdjustment;
+    /** Relative share of monthly savings per goal id, replacing the historical split */
+    private Map<Long, Double> allocations;
+    /** Seed for reproducible results */
+    private Long seed;
+}
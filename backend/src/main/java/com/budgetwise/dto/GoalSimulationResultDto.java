@@ -0,0 +1,22 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalSimulationResultDto {
+    private int paths;
+    private int horizonMonths;
+    private int monthsOfHistory;
+    private BigDecimal averageMonthlySavings;
+    private List<GoalProjectionDto> goals;
+    private long elapsedMs;
+}
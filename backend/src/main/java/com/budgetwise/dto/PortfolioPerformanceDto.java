@@ -0,0 +1,44 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Performance of a portfolio between its first and last snapshot in a window.
+ * Returns, drawdowns and drift are percentages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioPerformanceDto {
+    private LocalDate from;
+    private LocalDate to;
+    private int snapshots;
+
+    private BigDecimal startValue;
+    private BigDecimal endValue;
+    private BigDecimal netContributions;
+
+    private BigDecimal timeWeightedReturn;
+    // Only for windows of at least a year
+    private BigDecimal annualizedReturn;
+
+    private BigDecimal maxDrawdown;
+    private LocalDate drawdownPeakDate;
+    private LocalDate drawdownTroughDate;
+    private BigDecimal currentDrawdown;
+
+    // Allocation by investment type (percentage) and change in percentage points
+    private Map<String, BigDecimal> allocationStart;
+    private Map<String, BigDecimal> allocationEnd;
+    private Map<String, BigDecimal> allocationDrift;
+    private BigDecimal maxAllocationDrift;
+    private LocalDate maxAllocationDriftDate;
+}
@@ -0,0 +1,23 @@
+package com.budgetwise.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSnapshotDto {
+    private LocalDate date;
+    private BigDecimal totalValue;
+    private BigDecimal costBasis;
+
+    // Value by investment type
+    private Map<String, BigDecimal> typeValues;
+}
@@ -0,0 +1,82 @@
+package com.budgetwise.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress record for an account deletion. The stage is persisted after every
+ * batch so an interrupted deletion can pick up where it stopped. The user's
+ * tokens are revoked when deletion starts, so progress is looked up by a
+ * random status token handed out with the deletion response instead.
+ */
+@Entity
+@Table(name = "account_deletion_jobs", indexes = {
+        @Index(name = "idx_deletion_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "status_token", nullable = false, unique = true, length = 36)
+    private String statusToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private DeletionStage stage = DeletionStage.TRANSACTIONS;
+
+    @Column(name = "deleted_rows")
+    private Long deletedRows = 0L;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum DeletionStatus {
+        PENDING, IN_PROGRESS, COMPLETED, FAILED
+    }
+
+    public enum DeletionStage {
+        TRANSACTIONS,
+        BUDGETS,
+        SAVINGS_GOALS,
+        BILL_OCCURRENCES,
+        BILLS,
+        PORTFOLIO_SNAPSHOTS,
+        INVESTMENTS,
+        LIKES,
+        COMMENTS,
+        POSTS,
+        SCHEDULED_REPORTS,
+        CATEGORIZATION_MODELS,
+        CATEGORIES,
+        PROFILE,
+        AUDIT_REFERENCES,
+        USER,
+        DONE
+    }
+}
@@ -0,0 +1,42 @@
+package com.budgetwise.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Category the AI model gave a normalized transaction description, kept so the
+ * same merchant string is never sent to the model twice.
+ */
+@Entity
+@Table(name = "ai_category_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ai_category_description", columnNames = {"description_key"})
+}, indexes = {
+        @Index(name = "idx_ai_category_last_used", columnList = "last_used_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiCategoryCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "description_key", nullable = false, length = 200)
+    private String descriptionKey;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
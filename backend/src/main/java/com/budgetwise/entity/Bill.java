@@ -12,7 +12,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bills")
+@Table(name = "bills", indexes = {
+        @Index(name = "idx_bill_status_due", columnList = "status, next_due_date"),
+        @Index(name = "idx_bill_user_due", columnList = "user_id, next_due_date"),
+        @Index(name = "idx_bill_recurrence_materialized", columnList = "recurrence, materialized_until")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,6 +58,26 @@ public class Bill {
     @Column(length = 500)
     private String notes;
 
+    /** Post each occurrence as an expense transaction automatically on its due date. */
+    @Column(name = "auto_pay")
+    private Boolean autoPay = false;
+
+    /** Last due date for which occurrences have been generated. */
+    @Column(name = "materialized_until")
+    private LocalDate materializedUntil;
+
+    /** Due date the last reminder was sent for, so each occurrence is reminded once. */
+    @Column(name = "reminder_sent_for")
+    private LocalDate reminderSentFor;
+
+    /**
+     * Optimistic lock, so the recurrence engine and a user editing or paying
+     * the bill cannot silently overwrite each other's changes.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -67,7 +91,26 @@ public class Bill {
         MONTHLY,
         QUARTERLY,
         YEARLY,
-        ONE_TIME
+        ONE_TIME;
+
+        /**
+         * Due date following {@code date}; one-time bills have no next date and return it unchanged.
+         */
+        public LocalDate next(LocalDate date) {
+            switch (this) {
+                case WEEKLY:
+                    return date.plusWeeks(1);
+                case MONTHLY:
+                    return date.plusMonths(1);
+                case QUARTERLY:
+                    return date.plusMonths(3);
+                case YEARLY:
+                    return date.plusYears(1);
+                case ONE_TIME:
+                default:
+                    return date;
+            }
+        }
     }
 
     public enum BillStatus {
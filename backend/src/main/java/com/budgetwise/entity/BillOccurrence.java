@@ -0,0 +1,60 @@
+package com.budgetwise.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One concrete due date of a recurring bill. The unique (bill, due date) pair
+ * makes materializing and posting occurrences safe to repeat.
+ */
+@Entity
+@Table(name = "bill_occurrences", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bill_occurrence", columnNames = {"bill_id", "due_date"})
+}, indexes = {
+        @Index(name = "idx_occurrence_status_due", columnList = "status, due_date"),
+        @Index(name = "idx_occurrence_user_due", columnList = "user_id, due_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillOccurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bill_id", nullable = false)
+    private Long billId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OccurrenceStatus status = OccurrenceStatus.UPCOMING;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum OccurrenceStatus {
+        UPCOMING,
+        POSTED
+    }
+}
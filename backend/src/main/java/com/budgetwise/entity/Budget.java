@@ -50,6 +50,16 @@ public class Budget {
     @Column(precision = 15, scale = 2)
     private BigDecimal spent = BigDecimal.ZERO;
 
+    /**
+     * Highest alert already sent for the period starting at alertPeriodStart:
+     * 0 none, 1 alert threshold reached, 2 budget exceeded.
+     */
+    @Column(name = "alert_level")
+    private Integer alertLevel = 0;
+
+    @Column(name = "alert_period_start")
+    private LocalDate alertPeriodStart;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
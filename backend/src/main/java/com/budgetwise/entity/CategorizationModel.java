@@ -0,0 +1,41 @@
+package com.budgetwise.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's learned categorization model, serialized, with the id of the last
+ * transaction the bulk training has counted so it continues from there.
+ */
+@Entity
+@Table(name = "categorization_models", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categorization_model_user", columnNames = {"user_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Lob
+    @Column(name = "model_data", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] modelData;
+
+    @Column(name = "trained_through_id", nullable = false)
+    private Long trainedThroughId = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
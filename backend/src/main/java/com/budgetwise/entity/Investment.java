@@ -12,7 +12,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "investments")
+@Table(name = "investments", indexes = {
+        @Index(name = "idx_investment_symbol", columnList = "symbol, type")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
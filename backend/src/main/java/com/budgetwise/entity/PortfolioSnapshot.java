@@ -0,0 +1,60 @@
+package com.budgetwise.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * End-of-day value of a user's portfolio. The value per investment type is
+ * kept as {@code TYPE:value} pairs separated by commas, so new types need no
+ * schema change; the holdings as {@code id:quantity:price} triples, from which
+ * the next snapshot works out what was bought and sold in between.
+ */
+@Entity
+@Table(name = "portfolio_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_portfolio_snapshot", columnNames = {"user_id", "snapshot_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "total_value", nullable = false, precision = 17, scale = 2)
+    private BigDecimal totalValue;
+
+    @Column(name = "cost_basis", nullable = false, precision = 17, scale = 2)
+    private BigDecimal costBasis;
+
+    @Column(name = "type_values", length = 500)
+    private String typeValues;
+
+    /**
+     * Market value of holdings bought minus holdings sold since the previous
+     * snapshot.
+     */
+    @Column(name = "net_flow", nullable = false, precision = 17, scale = 2)
+    private BigDecimal netFlow;
+
+    @Column(name = "holdings", nullable = false, columnDefinition = "TEXT")
+    private String holdings;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
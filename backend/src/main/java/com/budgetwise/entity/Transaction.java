@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_user_date", columnList = "user_id, transaction_date"),
-        @Index(name = "idx_category", columnList = "category_id")
+        @Index(name = "idx_category", columnList = "category_id"),
+        @Index(name = "idx_goal_date", columnList = "goal_id, transaction_date")
 })
 @Data
 @NoArgsConstructor
@@ -44,6 +45,10 @@ public class Transaction {
     @Column(name = "transaction_date", nullable = false)
     private LocalDate transactionDate;
 
+    /** Savings goal this transaction contributed to or withdrew from, if any. */
+    @Column(name = "goal_id")
+    private Long goalId;
+
     @Column(name = "is_anomaly")
     private Boolean isAnomaly = false;
 
@@ -33,6 +33,9 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -97,7 +100,14 @@ public class User {
         return role;
     }
 
+    /**
+     * Tokens carry the role as a claim, so changing the role of a saved user
+     * bumps the token version and revokes the tokens issued with the old role.
+     */
     public void setRole(Role role) {
+        if (id != null && this.role != role) {
+            tokenVersion = (tokenVersion != null ? tokenVersion : 0) + 1;
+        }
         this.role = role;
     }
 
@@ -109,6 +119,14 @@ public class User {
         this.isActive = isActive;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
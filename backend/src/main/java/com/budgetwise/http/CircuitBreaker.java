@@ -0,0 +1,125 @@
+package com.budgetwise.http;
+
+/**
+ * Count-based circuit breaker. Closed, it records the outcome of the last
+ * {@code slidingWindowSize} calls and opens once their failure rate reaches
+ * the threshold. Open, it rejects calls until the open duration has passed,
+ * then lets {@code halfOpenCalls} trial calls through: if all succeed it
+ * closes, if any fails it opens again.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    CircuitBreaker(OutboundPolicy policy) {
+        this.failureRateThreshold = policy.failureRateThreshold();
+        this.minimumCalls = Math.min(policy.minimumCalls(), policy.slidingWindowSize());
+        this.openNanos = policy.openDuration().toNanos();
+        this.halfOpenCalls = policy.halfOpenCalls();
+        this.window = new boolean[policy.slidingWindowSize()];
+    }
+
+    /**
+     * Whether a call may go ahead. A permitted call must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or, if it was not made after
+     * all, {@link #release()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.OPEN) {
+            // A call that started before the circuit opened
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
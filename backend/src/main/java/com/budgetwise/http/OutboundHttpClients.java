@@ -0,0 +1,97 @@
+package com.budgetwise.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * HTTP clients for external providers. Each provider gets its own client
+ * derived from the shared {@link OkHttpClient}, so all of them reuse one
+ * connection pool and dispatcher, but with the provider's own timeouts,
+ * bulkhead, circuit breaker and retry policy (see {@link ResilienceInterceptor}).
+ *
+ * Settings are read from {@code outbound.<provider>.*}, falling back to
+ * {@code outbound.default.*}.
+ */
+@Component
+public class OutboundHttpClients {
+
+    private final OkHttpClient baseClient;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OkHttpClient> clients = new ConcurrentHashMap<>();
+
+    public OutboundHttpClients(OkHttpClient baseClient, Environment environment, MeterRegistry meterRegistry) {
+        this.baseClient = baseClient;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The client for a provider, created on first use
+     */
+    public OkHttpClient forProvider(String provider) {
+        return clients.computeIfAbsent(provider, name -> build(name, policyFor(name)));
+    }
+
+    OkHttpClient build(String provider, OutboundPolicy policy) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(policy);
+        Semaphore bulkhead = new Semaphore(policy.maxConcurrentCalls());
+
+        Gauge.builder("budgetwise.outbound.circuit.open", circuitBreaker,
+                        breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("Whether the provider's circuit breaker is rejecting or trialling calls")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("budgetwise.outbound.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free concurrent call slots for the provider")
+                .tag("provider", provider)
+                .register(meterRegistry);
+
+        return baseClient.newBuilder()
+                .connectTimeout(policy.connectTimeout())
+                .readTimeout(policy.readTimeout())
+                .writeTimeout(policy.readTimeout())
+                .callTimeout(policy.callTimeout())
+                .addInterceptor(new ResilienceInterceptor(provider, policy, circuitBreaker, bulkhead, meterRegistry))
+                .build();
+    }
+
+    private OutboundPolicy policyFor(String provider) {
+        return new OutboundPolicy(
+                millis(provider, "connect-timeout-ms", 5000),
+                millis(provider, "read-timeout-ms", 10000),
+                millis(provider, "call-timeout-ms", 30000),
+                integer(provider, "max-concurrent-calls", 20),
+                millis(provider, "bulkhead-wait-ms", 100),
+                integer(provider, "max-attempts", 3),
+                millis(provider, "backoff-base-ms", 200),
+                millis(provider, "backoff-max-ms", 2000),
+                Boolean.parseBoolean(property(provider, "retry-non-idempotent", "false")),
+                integer(provider, "circuit.failure-rate-threshold", 50),
+                integer(provider, "circuit.sliding-window-size", 20),
+                integer(provider, "circuit.minimum-calls", 10),
+                millis(provider, "circuit.open-ms", 30000),
+                integer(provider, "circuit.half-open-calls", 3));
+    }
+
+    private Duration millis(String provider, String key, long defaultMs) {
+        return Duration.ofMillis(Long.parseLong(property(provider, key, Long.toString(defaultMs))));
+    }
+
+    private int integer(String provider, String key, int defaultValue) {
+        return Integer.parseInt(property(provider, key, Integer.toString(defaultValue)));
+    }
+
+    private String property(String provider, String key, String defaultValue) {
+        return environment.getProperty("outbound." + provider + "." + key,
+                environment.getProperty("outbound.default." + key, defaultValue));
+    }
+}
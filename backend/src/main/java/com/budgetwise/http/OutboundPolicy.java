@@ -0,0 +1,34 @@
+package com.budgetwise.http;
+
+import java.time.Duration;
+
+/**
+ * Timeouts and resilience limits for calls to one provider.
+ *
+ * @param maxConcurrentCalls  calls allowed in flight at once (bulkhead)
+ * @param maxBulkheadWait     how long a call may wait for a free slot before it is rejected
+ * @param maxAttempts         attempts per call including the first; 1 disables retries
+ * @param backoffBase         first retry delay bound, doubled per attempt, with full jitter
+ * @param retryNonIdempotent  whether POST and other unsafe methods are retried too
+ * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+ * @param slidingWindowSize   number of most recent calls the failure rate is computed over
+ * @param minimumCalls        calls needed in the window before the circuit can open
+ * @param openDuration        how long an open circuit rejects calls before trial calls are let through
+ * @param halfOpenCalls       trial calls that must all succeed to close the circuit again
+ */
+public record OutboundPolicy(
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration callTimeout,
+        int maxConcurrentCalls,
+        Duration maxBulkheadWait,
+        int maxAttempts,
+        Duration backoffBase,
+        Duration backoffMax,
+        boolean retryNonIdempotent,
+        int failureRateThreshold,
+        int slidingWindowSize,
+        int minimumCalls,
+        Duration openDuration,
+        int halfOpenCalls) {
+}
@@ -0,0 +1,15 @@
+package com.budgetwise.http;
+
+import java.io.IOException;
+
+/**
+ * A call was not attempted because the provider's circuit is open or all of
+ * its call slots are taken. Extends {@link IOException} so callers' existing
+ * network failure handling covers it.
+ */
+public class ProviderUnavailableException extends IOException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,157 @@
+package com.budgetwise.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a provider's {@link OutboundPolicy} to every call made through its
+ * client. A call first needs a slot in the provider's bulkhead and a permit
+ * from its circuit breaker, so a slow or failing provider rejects further
+ * calls straight away instead of tying up request threads. Connection
+ * failures, 429 and 5xx responses are retried after a jittered exponential
+ * backoff, stretched to the server's Retry-After when that is within the cap;
+ * unsafe methods only when the policy allows it.
+ */
+final class ResilienceInterceptor implements Interceptor {
+
+    private final String provider;
+    private final OutboundPolicy policy;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+
+    ResilienceInterceptor(String provider, OutboundPolicy policy, CircuitBreaker circuitBreaker,
+                          Semaphore bulkhead, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.policy = policy;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+        this.retries = Counter.builder("budgetwise.outbound.retries")
+                .description("Outbound calls retried after a failed attempt")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        long started = System.nanoTime();
+        if (!acquireSlot()) {
+            record("rejected", started);
+            throw new ProviderUnavailableException(provider + ": too many concurrent calls");
+        }
+        try {
+            return proceedWithRetries(chain, started);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Response proceedWithRetries(Chain chain, long started) throws IOException {
+        Request request = chain.request();
+        boolean retryable = policy.retryNonIdempotent() || isIdempotent(request.method());
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                record("rejected", started);
+                throw new ProviderUnavailableException(provider + ": circuit open");
+            }
+            boolean lastAttempt = !retryable || attempt >= policy.maxAttempts();
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                circuitBreaker.onFailure();
+                if (lastAttempt || chain.call().isCanceled()) {
+                    record("io_error", started);
+                    throw e;
+                }
+                backoff(attempt, null);
+                continue;
+            } catch (RuntimeException e) {
+                // Thrown by the client itself rather than the provider; give the permit back
+                circuitBreaker.release();
+                record("error", started);
+                throw e;
+            }
+
+            if (!isRetryableStatus(response.code())) {
+                circuitBreaker.onSuccess();
+                record(response.code() >= 400 ? "client_error" : "success", started);
+                return response;
+            }
+            circuitBreaker.onFailure();
+            if (lastAttempt || chain.call().isCanceled()) {
+                record("server_error", started);
+                return response;
+            }
+            String retryAfter = response.header("Retry-After");
+            response.close();
+            backoff(attempt, retryAfter);
+        }
+    }
+
+    private boolean acquireSlot() throws InterruptedIOException {
+        try {
+            return bulkhead.tryAcquire(policy.maxBulkheadWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + provider);
+        }
+    }
+
+    private void backoff(int attempt, String retryAfter) throws InterruptedIOException {
+        long capMs = policy.backoffMax().toMillis();
+        long delayMs = ThreadLocalRandom.current().nextLong(
+                Math.min(capMs, policy.backoffBase().toMillis() << Math.min(attempt - 1, 20)) + 1);
+        if (retryAfter != null) {
+            try {
+                long requestedMs = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+                if (requestedMs <= capMs) {
+                    delayMs = Math.max(delayMs, requestedMs);
+                }
+            } catch (NumberFormatException e) {
+                // An HTTP date; keep the computed backoff
+            }
+        }
+        retries.increment();
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted retrying " + provider);
+        }
+    }
+
+    private void record(String outcome, long started) {
+        Timer.builder("budgetwise.outbound.requests")
+                .description("Outbound calls by provider and outcome, including retries")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isIdempotent(String method) {
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS", "PUT", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isRetryableStatus(int code) {
+        return code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+}
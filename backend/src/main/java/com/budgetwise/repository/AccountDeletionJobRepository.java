@@ -0,0 +1,19 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.entity.AccountDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, Long> {
+
+    Optional<AccountDeletionJob> findByUserId(Long userId);
+
+    Optional<AccountDeletionJob> findByStatusToken(String statusToken);
+
+    List<AccountDeletionJob> findByStatusIn(Collection<AccountDeletionJob.DeletionStatus> statuses);
+}
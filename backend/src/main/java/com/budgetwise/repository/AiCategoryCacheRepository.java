@@ -0,0 +1,47 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.entity.AiCategoryCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AiCategoryCacheRepository extends JpaRepository<AiCategoryCacheEntry, Long> {
+
+    List<AiCategoryCacheEntry> findByDescriptionKeyIn(Collection<String> descriptionKeys);
+
+    List<AiCategoryCacheEntry> findAllByOrderByLastUsedAtDesc(Pageable pageable);
+
+    /**
+     * Insert an entry unless one for the description already exists, e.g. stored concurrently by another node
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO ai_category_cache (description_key, category, last_used_at, created_at) " +
+                   "VALUES (:descriptionKey, :category, NOW(), NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("descriptionKey") String descriptionKey, @Param("category") String category);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiCategoryCacheEntry e SET e.lastUsedAt = CURRENT_TIMESTAMP WHERE e.descriptionKey IN :keys")
+    int touch(@Param("keys") Collection<String> keys);
+
+    /**
+     * Last-use times, most recent first; a page of size one at offset n gives the (n+1)-th
+     */
+    @Query("SELECT e.lastUsedAt FROM AiCategoryCacheEntry e ORDER BY e.lastUsedAt DESC")
+    List<LocalDateTime> findLastUsedTimes(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM ai_category_cache WHERE last_used_at <= :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteUsedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -4,7 +4,11 @@ import com.budgetwise.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
@@ -12,4 +16,16 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
     Page<AuditLog> findByAdminUserIdOrderByCreatedAtDesc(Long adminUserId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE audit_logs SET target_user_id = NULL WHERE target_user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int clearTargetUserBatch(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE audit_logs SET admin_user_id = NULL WHERE admin_user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int clearAdminUserBatch(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -0,0 +1,55 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.entity.BillOccurrence;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BillOccurrenceRepository extends JpaRepository<BillOccurrence, Long> {
+
+    List<BillOccurrence> findByUserIdAndDueDateBetweenOrderByDueDateAsc(Long userId, LocalDate start, LocalDate end);
+
+    Optional<BillOccurrence> findByBillIdAndDueDate(Long billId, LocalDate dueDate);
+
+    List<BillOccurrence> findByTransactionIdIn(Collection<Long> transactionIds);
+
+    /**
+     * Next page of unposted occurrences due by {@code today} for bills set to auto-pay
+     */
+    @Query("SELECT o FROM BillOccurrence o, Bill b WHERE b.id = o.billId AND b.autoPay = true " +
+           "AND o.status = com.budgetwise.entity.BillOccurrence.OccurrenceStatus.UPCOMING " +
+           "AND o.dueDate <= :today AND o.id > :afterId ORDER BY o.id")
+    List<BillOccurrence> findDueForAutoPost(
+            @Param("today") LocalDate today,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Drop occurrences that have not been posted yet, e.g. after the bill's schedule changed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BillOccurrence o WHERE o.billId = :billId " +
+           "AND o.status = com.budgetwise.entity.BillOccurrence.OccurrenceStatus.UPCOMING")
+    int deleteUpcomingByBillId(@Param("billId") Long billId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BillOccurrence o WHERE o.billId = :billId")
+    int deleteByBillId(@Param("billId") Long billId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM bill_occurrences WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -1,10 +1,16 @@
 package com.budgetwise.repository;
 
 import com.budgetwise.entity.Bill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +19,8 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
 
     List<Bill> findByUserIdOrderByNextDueDateAsc(Long userId);
 
+    List<Bill> findByUserIdIn(Collection<Long> userIds);
+
     List<Bill> findByUserIdAndStatus(Long userId, Bill.BillStatus status);
 
     List<Bill> findByUserIdAndNextDueDateBetween(Long userId, LocalDate start, LocalDate end);
@@ -20,4 +28,48 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     Optional<Bill> findByIdAndUserId(Long id, Long userId);
 
     List<Bill> findByUserIdAndNextDueDateBeforeAndStatus(Long userId, LocalDate date, Bill.BillStatus status);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM bills WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Mark up to {@code limit} pending bills past their due date as overdue, across all users
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bills SET status = 'OVERDUE' WHERE status = 'PENDING' " +
+            "AND next_due_date < :today LIMIT :limit", nativeQuery = true)
+    int markOverdueBatch(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * Next page of pending bills due in the window that have not been reminded for this due date
+     */
+    @Query("SELECT b FROM Bill b WHERE b.status = com.budgetwise.entity.Bill.BillStatus.PENDING " +
+           "AND b.autoReminder = true AND b.nextDueDate BETWEEN :from AND :until " +
+           "AND (b.reminderSentFor IS NULL OR b.reminderSentFor <> b.nextDueDate) " +
+           "AND b.id > :afterId ORDER BY b.id")
+    List<Bill> findBillsToRemind(
+            @Param("from") LocalDate from,
+            @Param("until") LocalDate until,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Bill b SET b.reminderSentFor = b.nextDueDate WHERE b.id IN :ids")
+    int markReminded(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next page of recurring bills whose occurrences have not been generated up to {@code horizon}
+     */
+    @Query("SELECT b FROM Bill b WHERE b.recurrence <> com.budgetwise.entity.Bill.RecurrenceType.ONE_TIME " +
+           "AND b.nextDueDate IS NOT NULL " +
+           "AND (b.materializedUntil IS NULL OR b.materializedUntil < :horizon) " +
+           "AND b.id > :afterId ORDER BY b.id")
+    List<Bill> findBillsToMaterialize(
+            @Param("horizon") LocalDate horizon,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 }
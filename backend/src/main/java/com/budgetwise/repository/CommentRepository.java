@@ -4,8 +4,12 @@ import com.budgetwise.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +23,23 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findByIdAndUserId(Long id, Long userId);
     
     Integer countByPostId(Long postId);
+
+    List<Comment> findByUserId(Long userId);
+
+    /**
+     * Next batch of the user's comments and any comments on the user's posts, as (id, postId)
+     */
+    @Query(value = "SELECT id, post_id FROM comments WHERE user_id = :userId " +
+            "OR post_id IN (SELECT p.id FROM posts p WHERE p.user_id = :userId) LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findDeletionBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Set the like counter of the comments from the likes they have
+     */
+    @Modifying
+    @Query(value = "UPDATE comments c SET c.like_count = " +
+            "(SELECT COUNT(*) FROM likes l WHERE l.comment_id = c.id) WHERE c.id IN (:ids)",
+            nativeQuery = true)
+    int recountLikes(@Param("ids") Collection<Long> ids);
 }
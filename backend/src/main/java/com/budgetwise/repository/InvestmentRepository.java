@@ -2,8 +2,14 @@ package com.budgetwise.repository;
 
 import com.budgetwise.entity.Investment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +21,30 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     List<Investment> findByUserIdAndType(Long userId, Investment.InvestmentType type);
 
     Optional<Investment> findByIdAndUserId(Long id, Long userId);
+
+    List<Investment> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Distinct (symbol, type) pairs across all users' holdings of the given types
+     */
+    @Query("SELECT DISTINCT i.symbol, i.type FROM Investment i " +
+           "WHERE i.symbol IS NOT NULL AND i.symbol <> '' AND i.type IN :types")
+    List<Object[]> findDistinctSymbols(@Param("types") Collection<Investment.InvestmentType> types);
+
+    /**
+     * Set the price of every holding of the symbol in one statement, skipping rows already at that price
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Investment i SET i.currentPrice = :price, i.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE i.symbol = :symbol AND i.type = :type AND (i.currentPrice IS NULL OR i.currentPrice <> :price)")
+    int updatePriceForSymbol(@Param("symbol") String symbol,
+                             @Param("type") Investment.InvestmentType type,
+                             @Param("price") BigDecimal price);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM investments WHERE user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -2,8 +2,11 @@ package com.budgetwise.repository;
 
 import com.budgetwise.entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +23,17 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     Integer countByPostIdAndCommentIdIsNull(Long postId);
     
     Integer countByCommentId(Long commentId);
+
+    List<Like> findByUserId(Long userId);
+
+    /**
+     * Next batch of the user's likes and any likes on content removed with the
+     * user's posts and comments, as (id, postId, commentId)
+     */
+    @Query(value = "SELECT id, post_id, comment_id FROM likes WHERE user_id = :userId " +
+            "OR post_id IN (SELECT p.id FROM posts p WHERE p.user_id = :userId) " +
+            "OR comment_id IN (SELECT c.id FROM comments c WHERE c.user_id = :userId " +
+            "OR c.post_id IN (SELECT p.id FROM posts p WHERE p.user_id = :userId)) LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findDeletionBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -0,0 +1,44 @@
+package com.budgetwise.repository;
+
+import com.budgetwise.entity.PortfolioSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PortfolioSnapshotRepository extends JpaRepository<PortfolioSnapshot, Long> {
+
+    List<PortfolioSnapshot> findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            Long userId, LocalDate start, LocalDate end);
+
+    List<PortfolioSnapshot> findByUserIdInAndSnapshotDate(Collection<Long> userIds, LocalDate snapshotDate);
+
+    /**
+     * Each user's latest snapshot before {@code date}
+     */
+    @Query("SELECT s FROM PortfolioSnapshot s WHERE s.userId IN :userIds AND s.snapshotDate = " +
+           "(SELECT MAX(p.snapshotDate) FROM PortfolioSnapshot p WHERE p.userId = s.userId AND p.snapshotDate < :date)")
+    List<PortfolioSnapshot> findLatestBefore(@Param("userIds") Collection<Long> userIds, @Param("date") LocalDate date);
+
+    /**
+     * Next page of ids of users holding any investment or with a snapshot of
+     * a non-empty portfolio, so a portfolio that was sold off gets a closing
+     * snapshot
+     */
+    @Query(value = "SELECT user_id FROM investments WHERE user_id > :afterId " +
+            "UNION SELECT user_id FROM portfolio_snapshots WHERE user_id > :afterId AND total_value > 0 " +
+            "ORDER BY user_id LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsToSnapshotAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM portfolio_snapshots WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
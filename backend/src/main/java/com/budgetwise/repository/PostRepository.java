@@ -4,9 +4,14 @@ import com.budgetwise.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,7 +22,32 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
     Optional<Post> findByIdAndUserId(Long id, Long userId);
+
+    List<Post> findByUserId(Long userId);
     
     @Query("SELECT p FROM Post p ORDER BY (p.likeCount + p.commentCount) DESC")
     Page<Post> findTrendingPosts(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM posts WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Set the like counter of the posts from the post likes they have
+     */
+    @Modifying
+    @Query(value = "UPDATE posts p SET p.like_count = " +
+            "(SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id AND l.comment_id IS NULL) WHERE p.id IN (:ids)",
+            nativeQuery = true)
+    int recountLikes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the comment counter of the posts from the comments they have
+     */
+    @Modifying
+    @Query(value = "UPDATE posts p SET p.comment_count = " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) WHERE p.id IN (:ids)",
+            nativeQuery = true)
+    int recountComments(@Param("ids") Collection<Long> ids);
 }
@@ -1,8 +1,13 @@
 package com.budgetwise.repository;
 
 import com.budgetwise.entity.SavingsGoal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,4 +22,12 @@ public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, Long>
     Optional<SavingsGoal> findByIdAndUserId(Long id, Long userId);
     
     Integer countByUserId(Long userId);
+
+    List<SavingsGoal> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM savings_goals WHERE user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -2,7 +2,11 @@ package com.budgetwise.repository;
 
 import com.budgetwise.entity.ScheduledReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,4 +15,10 @@ public interface ScheduledReportRepository extends JpaRepository<ScheduledReport
     List<ScheduledReport> findByUserId(Long userId);
 
     List<ScheduledReport> findByActiveTrue();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM scheduled_reports WHERE user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -4,12 +4,15 @@ import com.budgetwise.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -58,9 +61,107 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     List<Transaction> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    /**
+     * Next page of the user's transactions as (id, date, type, amount,
+     * categoryId, description, createdAt), in id order. Rows are plain values,
+     * so paging through them does not fill the persistence context.
+     */
+    @Query("SELECT t.id, t.transactionDate, t.type, t.amount, t.categoryId, t.description, t.createdAt " +
+            "FROM Transaction t WHERE t.userId = :userId AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findExportRowsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
     List<Transaction> findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(Long userId);
 
+    /**
+     * Totals of the user's transactions in the date range as (type, categoryId,
+     * sum, count), one row per type and category
+     */
+    @Query("SELECT t.type, t.categoryId, SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate GROUP BY t.type, t.categoryId")
+    List<Object[]> sumByTypeAndCategory(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Next page of ids of users with any transaction
+     */
+    @Query("SELECT DISTINCT t.userId FROM Transaction t WHERE t.userId > :afterId ORDER BY t.userId")
+    List<Long> findUserIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Next page of the user's categorized transactions as (id, description,
+     * categoryId), in id order
+     */
+    @Query("SELECT t.id, t.description, t.categoryId FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.id > :afterId AND t.categoryId IS NOT NULL ORDER BY t.id")
+    List<Object[]> findCategorizedDescriptionsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
     List<Transaction> findByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
     boolean existsByCategoryId(Long categoryId);
+
+    List<Transaction> findByGoalIdOrderByTransactionDateAscIdAsc(Long goalId);
+
+    /**
+     * Income minus expenses per calendar month since {@code from}, leaving out
+     * transfers to and from savings goals. Rows are [year, month, net].
+     */
+    @Query(value = "SELECT YEAR(transaction_date) AS y, MONTH(transaction_date) AS m, " +
+            "SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS net " +
+            "FROM transactions WHERE user_id = :userId AND goal_id IS NULL AND transaction_date >= :from " +
+            "GROUP BY y, m ORDER BY y, m", nativeQuery = true)
+    List<Object[]> sumMonthlyNetSavings(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    /**
+     * Net amount put into each of the user's goals since {@code from}. Rows are [goalId, net].
+     */
+    @Query("SELECT t.goalId, SUM(CASE WHEN t.type = com.budgetwise.entity.Transaction.TransactionType.EXPENSE " +
+           "THEN t.amount ELSE -t.amount END) FROM Transaction t " +
+           "WHERE t.userId = :userId AND t.goalId IS NOT NULL AND t.transactionDate >= :from GROUP BY t.goalId")
+    List<Object[]> sumGoalContributions(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    /**
+     * Turn a deleted goal's contributions into income, returning the money to the user's balance
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Transaction t SET t.type = com.budgetwise.entity.Transaction.TransactionType.INCOME, " +
+           "t.description = :description, t.updatedAt = CURRENT_TIMESTAMP WHERE t.goalId = :goalId " +
+           "AND t.type = com.budgetwise.entity.Transaction.TransactionType.EXPENSE")
+    int returnGoalContributions(@Param("goalId") Long goalId, @Param("description") String description);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Transaction t SET t.goalId = NULL WHERE t.goalId = :goalId")
+    int unlinkGoal(@Param("goalId") Long goalId);
+
+    /**
+     * Link unlinked transactions recorded for a goal, recognised by their description
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Transaction t SET t.goalId = :goalId WHERE t.userId = :userId AND t.goalId IS NULL " +
+           "AND t.description IN :descriptions")
+    int linkGoalTransactions(@Param("goalId") Long goalId, @Param("userId") Long userId,
+                             @Param("descriptions") Collection<String> descriptions);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM transactions WHERE user_id = :userId LIMIT :limit",
+            nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Next page of bill payments recorded without a category
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.categoryId IS NULL " +
+           "AND t.type = com.budgetwise.entity.Transaction.TransactionType.EXPENSE " +
+           "AND t.description LIKE 'Bill Payment: %' AND t.id > :afterId ORDER BY t.id")
+    List<Transaction> findUncategorizedBillPayments(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Transaction t SET t.categoryId = :categoryId WHERE t.id IN :ids AND t.categoryId IS NULL")
+    int assignCategory(@Param("categoryId") Long categoryId, @Param("ids") Collection<Long> ids);
 }
@@ -2,18 +2,34 @@ package com.budgetwise.repository;
 
 import com.budgetwise.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    
+
     Optional<User> findByEmail(String email);
-    
+
     Optional<User> findByUsername(String username);
-    
+
     Boolean existsByEmail(String email);
-    
+
     Boolean existsByUsername(String username);
+
+    /**
+     * Current token version of an active user; empty when the user is gone or deactivated
+     */
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :id " +
+           "AND (u.isActive = true OR u.isActive IS NULL)")
+    Optional<Integer> findActiveTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
@@ -1,12 +1,12 @@
 package com.budgetwise.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -18,12 +18,12 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, 
-                                  CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                  TokenRevocationService tokenRevocationService) {
         this.tokenProvider = tokenProvider;
-        this.customUserDetailsService = customUserDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -35,17 +35,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.debug("JWT Filter - Path: " + request.getRequestURI());
             logger.debug("JWT Filter - Token present: " + (jwt != null));
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                logger.debug("JWT Filter - User ID from token: " + userId);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+            // The principal comes from the signed claims; only the token version is checked against the user
+            UserPrincipal principal = claims != null ? tokenProvider.getPrincipalFromClaims(claims) : null;
+
+            if (principal != null && !tokenRevocationService.isRevoked(principal.getId(), principal.getTokenVersion())) {
+                logger.debug("JWT Filter - User ID from token: " + principal.getId());
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.debug("JWT Filter - Authentication set for user: " + userDetails.getUsername());
+                logger.debug("JWT Filter - Authentication set for user: " + principal.getUsername());
             } else {
                 logger.debug("JWT Filter - No valid token found");
             }
@@ -33,8 +33,10 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .subject(Long.toString(userPrincipal.getId()))
+                .claim("username", userPrincipal.getUsername())
                 .claim("email", userPrincipal.getEmail())
                 .claim("role", userPrincipal.getRole())
+                .claim("ver", userPrincipal.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -48,6 +50,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .subject(Long.toString(userPrincipal.getId()))
+                .claim("ver", userPrincipal.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -65,12 +68,20 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    /**
+     * Verify the token and return its claims in a single parse, or null when the
+     * token is invalid or expired.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
-                    .parseSignedClaims(authToken);
-            return true;
+                    .parseSignedClaims(authToken)
+                    .getPayload();
         } catch (SecurityException ex) {
             System.err.println("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -82,7 +93,31 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             System.err.println("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Build the principal from access token claims. Returns null for tokens
+     * that do not carry the identity claims, such as refresh tokens.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        String email = claims.get("email", String.class);
+        String role = claims.get("role", String.class);
+        if (email == null || role == null) {
+            return null;
+        }
+        String username = claims.get("username", String.class);
+        return UserPrincipal.fromClaims(
+                Long.parseLong(claims.getSubject()),
+                username != null ? username : email,
+                email,
+                role,
+                getTokenVersion(claims));
+    }
+
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get("ver", Integer.class);
+        return version != null ? version : 0;
     }
 
     public long getJwtExpirationMs() {
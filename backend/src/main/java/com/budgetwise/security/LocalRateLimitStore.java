@@ -0,0 +1,38 @@
+package com.budgetwise.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+
+import java.time.Duration;
+
+/**
+ * In-JVM Bucket4j buckets held in an expiring {@link RateLimitBucketStore}.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final RateLimitBucketStore bucketStore;
+
+    public LocalRateLimitStore(long idleTimeoutMs, int maxEntries) {
+        this.bucketStore = new RateLimitBucketStore(idleTimeoutMs, maxEntries);
+    }
+
+    @Override
+    public Result tryConsume(String key, long limit, Duration window) {
+        Bucket bucket = bucketStore.getOrCreate(key, () -> createNewBucket(limit, window));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return new Result(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+
+    @Override
+    public int size() {
+        return bucketStore.size();
+    }
+
+    private Bucket createNewBucket(long limit, Duration window) {
+        Bandwidth bandwidth = Bandwidth.classic(limit, Refill.greedy(limit, window));
+        return Bucket4j.builder().addLimit(bandwidth).build();
+    }
+}
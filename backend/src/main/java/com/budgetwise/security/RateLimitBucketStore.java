@@ -0,0 +1,69 @@
+package com.budgetwise.security;
+
+import io.github.bucket4j.Bucket;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds rate limit buckets in memory and forgets idle ones. A bucket that has
+ * been idle for a full refill period is back at capacity, so dropping it loses
+ * nothing. The store is also capped in size so a scan from many addresses
+ * cannot grow it without bound.
+ */
+public class RateLimitBucketStore {
+
+    private final long idleTimeoutMs;
+    private final int maxEntries;
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+    private volatile long nextSweepAt;
+
+    private static final class Entry {
+        final Bucket bucket;
+        volatile long lastAccess;
+
+        Entry(Bucket bucket, long now) {
+            this.bucket = bucket;
+            this.lastAccess = now;
+        }
+    }
+
+    public RateLimitBucketStore(long idleTimeoutMs, int maxEntries) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxEntries = maxEntries;
+        this.nextSweepAt = System.currentTimeMillis() + idleTimeoutMs;
+    }
+
+    public Bucket getOrCreate(String key, Supplier<Bucket> factory) {
+        long now = System.currentTimeMillis();
+        if (now >= nextSweepAt || buckets.size() >= maxEntries) {
+            evict(now);
+        }
+        Entry entry = buckets.computeIfAbsent(key, k -> new Entry(factory.get(), now));
+        entry.lastAccess = now;
+        return entry.bucket;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    synchronized void evict(long now) {
+        if (now < nextSweepAt && buckets.size() < maxEntries) {
+            return;
+        }
+        long cutoff = now - idleTimeoutMs;
+        buckets.values().removeIf(entry -> entry.lastAccess <= cutoff);
+
+        // Still full of active keys: drop arbitrary entries, which only resets their quota
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Entry> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        nextSweepAt = now + Math.max(1000, idleTimeoutMs / 2);
+    }
+}
@@ -0,0 +1,29 @@
+package com.budgetwise.security;
+
+/**
+ * Route groups that get their own rate limit. Expensive endpoints (exports,
+ * AI calls) and login attempts are limited much tighter than ordinary reads.
+ */
+public enum RateLimitGroup {
+    AUTH("/api/auth"),
+    EXPORT("/api/export", "/api/gdpr/export", "/api/reports"),
+    AI("/api/ai", "/api/chat"),
+    DEFAULT;
+
+    private final String[] pathPrefixes;
+
+    RateLimitGroup(String... pathPrefixes) {
+        this.pathPrefixes = pathPrefixes;
+    }
+
+    public static RateLimitGroup forPath(String path) {
+        for (RateLimitGroup group : values()) {
+            for (String prefix : group.pathPrefixes) {
+                if (path.startsWith(prefix)) {
+                    return group;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,21 @@
+package com.budgetwise.security;
+
+import java.time.Duration;
+
+/**
+ * Storage for rate limit buckets. The local store keeps buckets in this JVM;
+ * the Redis store shares them between backend instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Try to take one token from the bucket identified by {@code key}, which
+     * refills {@code limit} tokens per {@code window}.
+     */
+    Result tryConsume(String key, long limit, Duration window);
+
+    int size();
+
+    record Result(boolean consumed, long remaining, long nanosToWait) {
+    }
+}
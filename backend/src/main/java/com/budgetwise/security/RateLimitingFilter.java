@@ -1,44 +1,92 @@
 package com.budgetwise.security;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Per-client rate limiting. Authenticated requests are limited per user id and
+ * anonymous ones per remote address, with a separate bucket for each route
+ * group. Runs after JWT authentication so the user is known. Where buckets
+ * are kept is up to the configured {@link RateLimitStore}.
+ */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final RateLimitStore rateLimitStore;
+    private final Map<RateLimitGroup, Long> limits = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> rejections = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitingFilter(RateLimitStore rateLimitStore,
+                              MeterRegistry meterRegistry,
+                              @Value("${rate-limit.default.per-minute:100}") long defaultLimit,
+                              @Value("${rate-limit.auth.per-minute:20}") long authLimit,
+                              @Value("${rate-limit.export.per-minute:10}") long exportLimit,
+                              @Value("${rate-limit.ai.per-minute:20}") long aiLimit) {
+        this.rateLimitStore = rateLimitStore;
+        limits.put(RateLimitGroup.DEFAULT, defaultLimit);
+        limits.put(RateLimitGroup.AUTH, authLimit);
+        limits.put(RateLimitGroup.EXPORT, exportLimit);
+        limits.put(RateLimitGroup.AI, aiLimit);
+
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejections.put(group, Counter.builder("budgetwise.ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("group", group.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("budgetwise.ratelimit.buckets", rateLimitStore, RateLimitStore::size)
+                .description("Rate limit buckets or reservations currently held in memory")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String ip = request.getRemoteAddr();
-        Bucket bucket = cache.computeIfAbsent(ip, this::createNewBucket);
+        RateLimitGroup group = RateLimitGroup.forPath(request.getRequestURI());
+        long limit = limits.get(group);
+        String key = group.name() + ":" + clientKey(request);
+
+        RateLimitStore.Result result = rateLimitStore.tryConsume(key, limit, WINDOW);
 
-        if (bucket.tryConsume(1)) {
+        response.setHeader("X-RateLimit-Limit", Long.toString(limit));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(result.remaining()));
+
+        if (result.consumed()) {
             filterChain.doFilter(request, response);
         } else {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(result.nanosToWait()) + 1);
+            rejections.get(group).increment();
             response.setStatus(429);
+            response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+            response.setHeader("X-RateLimit-Reset", Long.toString(retryAfterSeconds));
             response.getWriter().write("Too many requests");
         }
     }
 
-    private Bucket createNewBucket(String ip) {
-        // Allow 100 requests per minute
-        Bandwidth limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofMinutes(1)));
-        return Bucket4j.builder().addLimit(limit).build();
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
     }
 }
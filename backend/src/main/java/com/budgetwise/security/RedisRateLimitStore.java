@@ -0,0 +1,103 @@
+package com.budgetwise.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit buckets shared between backend instances through a
+ * {@link RemoteTokenBucket}. To avoid a network round trip per request, each
+ * node reserves a small batch of tokens at a time and spends them locally. A
+ * reservation is only honoured for a short time, so tokens a node does not use
+ * are not held back from other nodes for long. If Redis is unreachable the
+ * node falls back to its own local buckets rather than failing requests, and
+ * keeps using them for a cooldown before it tries Redis again, so an outage
+ * costs one timeout and one warning per cooldown rather than per request.
+ */
+@Slf4j
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private final RemoteTokenBucket remoteBucket;
+    private final int prefetch;
+    private final long prefetchTtlMs;
+    private final int maxEntries;
+    private final long unavailableCooldownMs;
+    /** Until when Redis is considered down, by {@link System#currentTimeMillis()}; 0 while it is up. */
+    private volatile long unavailableUntil;
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final LocalRateLimitStore fallback;
+
+    private static final class Reservation {
+        long tokens;
+        long remoteRemaining;
+        long expiresAt;
+    }
+
+    public RedisRateLimitStore(RemoteTokenBucket remoteBucket, int prefetch, long prefetchTtlMs, int maxEntries,
+                               long unavailableCooldownMs) {
+        this.remoteBucket = remoteBucket;
+        this.prefetch = Math.max(1, prefetch);
+        this.prefetchTtlMs = prefetchTtlMs;
+        this.maxEntries = maxEntries;
+        this.unavailableCooldownMs = unavailableCooldownMs;
+        this.fallback = new LocalRateLimitStore(Duration.ofMinutes(1).toMillis(), maxEntries);
+    }
+
+    @Override
+    public Result tryConsume(String key, long limit, Duration window) {
+        long now = System.currentTimeMillis();
+        long downUntil = unavailableUntil;
+        if (downUntil != 0 && now < downUntil) {
+            return fallback.tryConsume(key, limit, window);
+        }
+        Reservation reservation = reservations.get(key);
+        if (reservation == null) {
+            if (reservations.size() >= maxEntries) {
+                reservations.values().removeIf(r -> r.expiresAt <= now);
+            }
+            reservation = reservations.computeIfAbsent(key, k -> new Reservation());
+        }
+
+        synchronized (reservation) {
+            if (reservation.tokens > 0 && reservation.expiresAt > now) {
+                reservation.tokens--;
+                return new Result(true, reservation.remoteRemaining + reservation.tokens, 0);
+            }
+
+            // Never reserve more than a tenth of the limit, so small limits stay exact
+            long batch = Math.max(1, Math.min(prefetch, limit / 10));
+            long[] taken;
+            try {
+                taken = remoteBucket.take(key, limit, window.toMillis(), batch);
+            } catch (RuntimeException e) {
+                if (unavailableUntil == 0) {
+                    log.warn("Shared rate limit store unavailable, using local buckets for {} ms: {}",
+                            unavailableCooldownMs, e.getMessage());
+                }
+                unavailableUntil = now + unavailableCooldownMs;
+                return fallback.tryConsume(key, limit, window);
+            }
+            if (unavailableUntil != 0) {
+                unavailableUntil = 0;
+                log.info("Shared rate limit store available again");
+            }
+            long granted = taken[0];
+            reservation.remoteRemaining = taken[1];
+            if (granted == 0) {
+                reservation.tokens = 0;
+                return new Result(false, 0, TimeUnit.MILLISECONDS.toNanos(taken[2]));
+            }
+            reservation.tokens = granted - 1;
+            reservation.expiresAt = now + prefetchTtlMs;
+            return new Result(true, reservation.remoteRemaining + reservation.tokens, 0);
+        }
+    }
+
+    @Override
+    public int size() {
+        return reservations.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.budgetwise.security;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token bucket evaluated by a Lua script inside Redis, so concurrent requests
+ * from different nodes cannot both spend the same token. Tokens are stored in
+ * thousandths to keep partial refills exact, and Redis' own clock is used so
+ * node clock skew does not matter.
+ */
+public class RedisTokenBucket implements RemoteTokenBucket {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1]) * 1000
+            local window = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3]) * 1000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.floor(math.max(0, now - ts) * capacity / window))
+            local granted = math.min(requested, tokens - tokens % 1000)
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], window)
+            local wait = 0
+            if granted == 0 then
+                wait = math.ceil((1000 - tokens) * window / capacity)
+            end
+            return {granted / 1000, math.floor(tokens / 1000), wait}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenBucket(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long[] take(String key, long capacity, long windowMs, long requested) {
+        List<?> result = redisTemplate.execute(TAKE_SCRIPT, List.of(KEY_PREFIX + key),
+                Long.toString(capacity), Long.toString(windowMs), Long.toString(requested));
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        return new long[] {
+                ((Number) result.get(0)).longValue(),
+                ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue()
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.budgetwise.security;
+
+/**
+ * A token bucket kept outside the JVM and shared by all backend instances.
+ */
+public interface RemoteTokenBucket {
+
+    /**
+     * Atomically take up to {@code requested} tokens from the bucket.
+     *
+     * @return granted tokens, tokens left afterwards, and milliseconds until the
+     *         next token when nothing could be granted
+     */
+    long[] take(String key, long capacity, long windowMs, long requested);
+}
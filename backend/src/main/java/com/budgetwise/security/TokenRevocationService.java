@@ -0,0 +1,68 @@
+package com.budgetwise.security;
+
+import com.budgetwise.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a signed token is still honoured. Every token carries the
+ * user's token version; bumping the version in the database revokes all tokens
+ * issued before it. The current version is cached per user for a short time so
+ * authenticated requests do not hit the database on every call.
+ */
+@Service
+public class TokenRevocationService {
+
+    /** Cached marker for users that no longer exist or were deactivated. */
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    private record CachedVersion(int version, long expiresAt) {
+    }
+
+    public TokenRevocationService(UserRepository userRepository,
+                                  @Value("${jwt.version-cache.ttl-ms:30000}") long ttlMs,
+                                  @Value("${jwt.version-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        int current = currentVersion(userId);
+        return current == REVOKED || tokenVersion < current;
+    }
+
+    /**
+     * Invalidate every token issued to the user so far.
+     */
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.remove(userId);
+    }
+
+    private int currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.version();
+        }
+
+        int version = userRepository.findActiveTokenVersion(userId).orElse(REVOKED);
+        if (versions.size() >= maxEntries) {
+            versions.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (versions.size() >= maxEntries) {
+                versions.clear();
+            }
+        }
+        versions.put(userId, new CachedVersion(version, now + ttlMs));
+        return version;
+    }
+}
@@ -15,14 +15,20 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private String role;
+    private int tokenVersion;
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(Long id, String username, String email, String password, String role, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, role, 0, authorities);
+    }
+
+    public UserPrincipal(Long id, String username, String email, String password, String role, int tokenVersion, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.role = role;
+        this.tokenVersion = tokenVersion;
         this.authorities = authorities;
     }
 
@@ -37,10 +43,23 @@ public class UserPrincipal implements UserDetails {
             user.getEmail(),
             user.getPassword(),
             user.getRole().name(),
+            user.getTokenVersion() != null ? user.getTokenVersion() : 0,
             authorities
         );
     }
 
+    /**
+     * Build a principal from verified access token claims, without a database
+     * lookup. The password is not part of the token and stays null.
+     */
+    public static UserPrincipal fromClaims(Long id, String username, String email, String role, int tokenVersion) {
+        Collection<GrantedAuthority> authorities = Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + role)
+        );
+
+        return new UserPrincipal(id, username, email, null, role, tokenVersion, authorities);
+    }
+
     public Long getId() {
         return id;
     }
@@ -53,6 +72,10 @@ public class UserPrincipal implements UserDetails {
         return role;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,255 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.AccountDeletionStatusDto;
+import com.budgetwise.entity.AccountDeletionJob;
+import com.budgetwise.entity.AccountDeletionJob.DeletionStage;
+import com.budgetwise.entity.AccountDeletionJob.DeletionStatus;
+import com.budgetwise.exception.ResourceNotFoundException;
+import com.budgetwise.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Deletes an account and everything that references it in the background.
+ * Each child table is cleared in bounded batches, one short transaction per
+ * batch, and the current stage is saved after every batch. Every stage only
+ * removes rows owned by the user, so re-running it after a restart is safe.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountDeletionService {
+
+    private final AccountDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final BillRepository billRepository;
+    private final BillOccurrenceRepository billOccurrenceRepository;
+    private final InvestmentRepository investmentRepository;
+    private final PortfolioSnapshotRepository portfolioSnapshotRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final ScheduledReportRepository scheduledReportRepository;
+    private final CategorizationModelRepository categorizationModelRepository;
+    private final CategorizationModelService categorizationModelService;
+    private final FinancialFactsService financialFactsService;
+    private final CategoryRepository categoryRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final Executor accountDeletionExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${account.deletion.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Record a deletion job for the user and start it. A job that previously
+     * failed is restarted from the stage it reached.
+     */
+    public AccountDeletionJob scheduleDeletion(Long userId) {
+        AccountDeletionJob job = jobRepository.findByUserId(userId).orElseGet(() -> {
+            AccountDeletionJob created = new AccountDeletionJob();
+            created.setUserId(userId);
+            created.setStatusToken(UUID.randomUUID().toString());
+            return created;
+        });
+
+        if (job.getStatus() == DeletionStatus.FAILED) {
+            job.setStatus(DeletionStatus.PENDING);
+            job.setErrorMessage(null);
+        }
+        job = jobRepository.save(job);
+
+        if (job.getStatus() == DeletionStatus.PENDING) {
+            Long jobId = job.getId();
+            accountDeletionExecutor.execute(() -> runDeletion(jobId));
+        }
+        return job;
+    }
+
+    public AccountDeletionStatusDto getStatus(Long userId) {
+        AccountDeletionJob job = jobRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("No account deletion in progress"));
+        return mapToDto(job);
+    }
+
+    public AccountDeletionStatusDto getStatusByToken(String statusToken) {
+        AccountDeletionJob job = jobRepository.findByStatusToken(statusToken)
+                .orElseThrow(() -> new ResourceNotFoundException("No account deletion in progress"));
+        return mapToDto(job);
+    }
+
+    /**
+     * Pick up deletions that were interrupted by a shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedDeletions() {
+        for (AccountDeletionJob job : jobRepository.findByStatusIn(
+                EnumSet.of(DeletionStatus.PENDING, DeletionStatus.IN_PROGRESS))) {
+            log.info("Resuming account deletion for user {} at stage {}", job.getUserId(), job.getStage());
+            Long jobId = job.getId();
+            accountDeletionExecutor.execute(() -> runDeletion(jobId));
+        }
+    }
+
+    private void runDeletion(Long jobId) {
+        AccountDeletionJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == DeletionStatus.COMPLETED) {
+            return;
+        }
+
+        job.setStatus(DeletionStatus.IN_PROGRESS);
+        job = jobRepository.save(job);
+
+        try {
+            DeletionStage[] stages = DeletionStage.values();
+            for (int i = job.getStage().ordinal(); i < stages.length; i++) {
+                DeletionStage stage = stages[i];
+                job.setStage(stage);
+                if (stage == DeletionStage.DONE) {
+                    break;
+                }
+
+                int deleted;
+                do {
+                    deleted = deleteBatch(stage, job.getUserId());
+                    job.setDeletedRows(job.getDeletedRows() + deleted);
+                    job = jobRepository.save(job);
+                } while (deleted > 0);
+            }
+
+            job.setStatus(DeletionStatus.COMPLETED);
+            jobRepository.save(job);
+            log.info("Account deletion for user {} completed, {} rows removed",
+                    job.getUserId(), job.getDeletedRows());
+        } catch (RuntimeException e) {
+            log.error("Account deletion for user {} failed at stage {}", job.getUserId(), job.getStage(), e);
+            job.setStatus(DeletionStatus.FAILED);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+            jobRepository.save(job);
+        } finally {
+            // Whether or not it finished, the user's data is no longer what the cached facts describe
+            financialFactsService.invalidate(job.getUserId());
+        }
+    }
+
+    /**
+     * Remove one batch of rows for the stage and return how many were affected.
+     * Children are cleared before the rows they point at, so every batch
+     * commits on its own without violating foreign keys.
+     */
+    private int deleteBatch(DeletionStage stage, Long userId) {
+        return switch (stage) {
+            case TRANSACTIONS -> transactionRepository.deleteBatchByUserId(userId, batchSize);
+            case BUDGETS -> budgetRepository.deleteBatchByUserId(userId, batchSize);
+            case SAVINGS_GOALS -> savingsGoalRepository.deleteBatchByUserId(userId, batchSize);
+            case BILL_OCCURRENCES -> billOccurrenceRepository.deleteBatchByUserId(userId, batchSize);
+            case BILLS -> billRepository.deleteBatchByUserId(userId, batchSize);
+            case PORTFOLIO_SNAPSHOTS -> portfolioSnapshotRepository.deleteBatchByUserId(userId, batchSize);
+            case INVESTMENTS -> investmentRepository.deleteBatchByUserId(userId, batchSize);
+            case LIKES -> deleteLikesBatch(userId);
+            case COMMENTS -> deleteCommentsBatch(userId);
+            case POSTS -> postRepository.deleteBatchByUserId(userId, batchSize);
+            case SCHEDULED_REPORTS -> scheduledReportRepository.deleteBatchByUserId(userId, batchSize);
+            case CATEGORIZATION_MODELS -> {
+                categorizationModelService.evict(userId);
+                yield categorizationModelRepository.deleteBatchByUserId(userId, batchSize);
+            }
+            case CATEGORIES -> categoryRepository.deleteBatchByUserId(userId, batchSize);
+            case PROFILE -> userProfileRepository.deleteBatchByUserId(userId, batchSize);
+            case AUDIT_REFERENCES -> auditLogRepository.clearTargetUserBatch(userId, batchSize)
+                    + auditLogRepository.clearAdminUserBatch(userId, batchSize);
+            case USER -> {
+                if (!userRepository.existsById(userId)) {
+                    yield 0;
+                }
+                userRepository.deleteById(userId);
+                yield 1;
+            }
+            case DONE -> 0;
+        };
+    }
+
+    /**
+     * Delete a batch of likes and recount the posts and comments they were on
+     * in the same transaction, so likes on other users' content stop counting.
+     */
+    private int deleteLikesBatch(Long userId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> likes = likeRepository.findDeletionBatchByUserId(userId, batchSize);
+            List<Long> ids = new ArrayList<>(likes.size());
+            Set<Long> postIds = new HashSet<>();
+            Set<Long> commentIds = new HashSet<>();
+            for (Object[] like : likes) {
+                ids.add(((Number) like[0]).longValue());
+                if (like[2] != null) {
+                    commentIds.add(((Number) like[2]).longValue());
+                } else if (like[1] != null) {
+                    postIds.add(((Number) like[1]).longValue());
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            likeRepository.deleteAllByIdInBatch(ids);
+            if (!postIds.isEmpty()) {
+                postRepository.recountLikes(postIds);
+            }
+            if (!commentIds.isEmpty()) {
+                commentRepository.recountLikes(commentIds);
+            }
+            return ids.size();
+        });
+    }
+
+    /**
+     * Delete a batch of comments and recount the comments of their posts in the
+     * same transaction.
+     */
+    private int deleteCommentsBatch(Long userId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> comments = commentRepository.findDeletionBatchByUserId(userId, batchSize);
+            List<Long> ids = new ArrayList<>(comments.size());
+            Set<Long> postIds = new HashSet<>();
+            for (Object[] comment : comments) {
+                ids.add(((Number) comment[0]).longValue());
+                postIds.add(((Number) comment[1]).longValue());
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            commentRepository.deleteAllByIdInBatch(ids);
+            postRepository.recountComments(postIds);
+            return ids.size();
+        });
+    }
+
+    private AccountDeletionStatusDto mapToDto(AccountDeletionJob job) {
+        return AccountDeletionStatusDto.builder()
+                .statusToken(job.getStatusToken())
+                .status(job.getStatus())
+                .stage(job.getStage())
+                .deletedRows(job.getDeletedRows())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.AiCategoryCacheEntry;
+import com.budgetwise.repository.AiCategoryCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Categories the AI model gave transaction descriptions, keyed by the
+ * normalized description so that "UBER *TRIP 8812" and "Uber Trip 1093" share
+ * an entry. The most recently used entries are held in memory (LRU, bounded)
+ * and everything is persisted, so the cache survives restarts; the table is
+ * trimmed to its own bound, dropping the least recently used entries.
+ */
+@Component
+@Slf4j
+public class AiCategoryCache {
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final AiCategoryCacheRepository repository;
+    private final int maxMemoryEntries;
+    private final int maxPersisted;
+    private final Map<String, String> memory;
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    public AiCategoryCache(AiCategoryCacheRepository repository,
+                           @Value("${ai.categorization.cache.max-memory-entries:10000}") int maxMemoryEntries,
+                           @Value("${ai.categorization.cache.max-persisted-entries:200000}") int maxPersisted) {
+        this.repository = repository;
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.maxPersisted = maxPersisted;
+        this.memory = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        };
+    }
+
+    /**
+     * Lower-case letters, '&' and single spaces only: digits, punctuation and
+     * reference numbers vary between payments to the same merchant.
+     */
+    static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(Math.min(description.length(), MAX_KEY_LENGTH));
+        boolean space = false;
+        for (int i = 0; i < description.length() && key.length() < MAX_KEY_LENGTH; i++) {
+            char c = description.charAt(i);
+            if (Character.isLetter(c) || c == '&') {
+                if (space && key.length() > 0) {
+                    key.append(' ');
+                }
+                key.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return key.toString();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int capacity;
+        synchronized (memory) {
+            capacity = maxMemoryEntries - memory.size();
+        }
+        if (capacity <= 0) {
+            return;
+        }
+        try {
+            List<AiCategoryCacheEntry> recent = repository.findAllByOrderByLastUsedAtDesc(PageRequest.of(0, capacity));
+            synchronized (memory) {
+                // Least recent first so the most recent end up at the young end of the LRU order
+                for (int i = recent.size() - 1; i >= 0; i--) {
+                    memory.putIfAbsent(recent.get(i).getDescriptionKey(), recent.get(i).getCategory());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up the AI category cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cached categories for the normalized keys that have one
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        synchronized (memory) {
+            for (String key : keys) {
+                String category = memory.get(key);
+                if (category != null) {
+                    found.put(key, category);
+                } else {
+                    misses.add(key);
+                }
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (AiCategoryCacheEntry entry : repository.findByDescriptionKeyIn(misses)) {
+                found.put(entry.getDescriptionKey(), entry.getCategory());
+            }
+            synchronized (memory) {
+                for (String key : misses) {
+                    String category = found.get(key);
+                    if (category != null) {
+                        memory.put(key, category);
+                    }
+                }
+            }
+        }
+        touched.addAll(found.keySet());
+        return found;
+    }
+
+    public void put(String key, String category) {
+        if (key.isEmpty()) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, category);
+        }
+        repository.insertIfAbsent(key, category);
+    }
+
+    /**
+     * Record recent use of cached entries and drop the least recently used
+     * persisted ones beyond the bound.
+     */
+    @Scheduled(fixedDelayString = "${ai.categorization.cache.maintenance-ms:300000}")
+    public void maintain() {
+        try {
+            if (!touched.isEmpty()) {
+                List<String> keys = new ArrayList<>(touched);
+                touched.removeAll(keys);
+                for (int from = 0; from < keys.size(); from += 500) {
+                    repository.touch(keys.subList(from, Math.min(keys.size(), from + 500)));
+                }
+            }
+
+            List<LocalDateTime> cutoff = repository.findLastUsedTimes(PageRequest.of(maxPersisted, 1));
+            if (!cutoff.isEmpty()) {
+                int removed;
+                do {
+                    removed = repository.deleteUsedBefore(cutoff.get(0), 1000);
+                } while (removed == 1000);
+            }
+        } catch (RuntimeException e) {
+            log.warn("AI category cache maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.budgetwise.dto.*;
 import com.budgetwise.entity.User;
 import com.budgetwise.repository.UserRepository;
 import com.budgetwise.security.JwtTokenProvider;
+import com.budgetwise.security.TokenRevocationService;
 import com.budgetwise.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -20,17 +22,20 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
     private final ProfileService profileService;
 
     public AuthService(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
             JwtTokenProvider tokenProvider,
+            TokenRevocationService tokenRevocationService,
             ProfileService profileService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
         this.profileService = profileService;
     }
 
@@ -122,11 +127,16 @@ public class AuthService {
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        if (!tokenProvider.validateToken(refreshToken)) {
+        Claims claims = tokenProvider.parseClaims(refreshToken);
+        if (claims == null) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        Long userId = Long.parseLong(claims.getSubject());
+        if (tokenRevocationService.isRevoked(userId, tokenProvider.getTokenVersion(claims))) {
             throw new RuntimeException("Invalid refresh token");
         }
 
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
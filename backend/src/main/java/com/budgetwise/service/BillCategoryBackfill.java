@@ -0,0 +1,143 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Bill;
+import com.budgetwise.entity.BillOccurrence;
+import com.budgetwise.entity.Transaction;
+import com.budgetwise.repository.BillOccurrenceRepository;
+import com.budgetwise.repository.BillRepository;
+import com.budgetwise.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns categories to bill payments recorded before bill categories were
+ * resolved. Each payment is traced to its bill through the occurrence it
+ * posted or, failing that, the bill name in its description; payments whose
+ * bill no longer exists are resolved from the name alone. Only rows that are
+ * still uncategorized are touched, so the job can safely run again and is
+ * switched off with {@code bills.category-backfill.enabled=false} once done.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillCategoryBackfill {
+
+    private static final String DESCRIPTION_PREFIX = "Bill Payment: ";
+    private static final String[] DASHBOARD_CACHES = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" };
+
+    private final TransactionRepository transactionRepository;
+    private final BillRepository billRepository;
+    private final BillOccurrenceRepository billOccurrenceRepository;
+    private final BillCategoryResolver billCategoryResolver;
+    private final BudgetService budgetService;
+    private final FinancialFactsService financialFactsService;
+    private final CacheManager cacheManager;
+
+    @Value("${bills.category-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bills.category-backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Bill category backfill assigned categories to {} transactions", updated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Bill category backfill failed", e);
+        }
+    }
+
+    int backfill() {
+        PageRequest page = PageRequest.of(0, batchSize);
+        int total = 0;
+        long afterId = 0L;
+
+        List<Transaction> transactions;
+        do {
+            transactions = transactionRepository.findUncategorizedBillPayments(afterId, page);
+            if (transactions.isEmpty()) {
+                break;
+            }
+            total += backfillPage(transactions);
+            afterId = transactions.get(transactions.size() - 1).getId();
+        } while (transactions.size() == batchSize);
+
+        if (total > 0) {
+            for (String name : DASHBOARD_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+        return total;
+    }
+
+    private int backfillPage(List<Transaction> transactions) {
+        Set<Long> userIds = transactions.stream().map(Transaction::getUserId).collect(Collectors.toSet());
+        List<Bill> bills = billRepository.findByUserIdIn(userIds);
+        Map<Long, Bill> billsById = bills.stream().collect(Collectors.toMap(Bill::getId, Function.identity()));
+        Map<String, Bill> billsByUserAndName = new HashMap<>();
+        for (Bill bill : bills) {
+            billsByUserAndName.putIfAbsent(bill.getUserId() + ":" + bill.getName(), bill);
+        }
+        Map<Long, Long> billIdByTransaction = billOccurrenceRepository.findByTransactionIdIn(
+                transactions.stream().map(Transaction::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(BillOccurrence::getTransactionId, BillOccurrence::getBillId, (a, b) -> a));
+
+        Map<Long, List<Long>> idsByCategory = new HashMap<>();
+        Map<Long, Set<Long>> usersByCategory = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            String billName = transaction.getDescription().substring(DESCRIPTION_PREFIX.length());
+            Bill bill = billsById.get(billIdByTransaction.get(transaction.getId()));
+            if (bill == null) {
+                bill = billsByUserAndName.get(transaction.getUserId() + ":" + billName);
+            }
+            String categoryText = bill != null && bill.getCategory() != null ? bill.getCategory() : billName;
+
+            Long categoryId = billCategoryResolver.resolve(transaction.getUserId(), categoryText);
+            if (categoryId != null) {
+                idsByCategory.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(transaction.getId());
+                usersByCategory.computeIfAbsent(categoryId, id -> new HashSet<>()).add(transaction.getUserId());
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<Long, List<Long>> entry : idsByCategory.entrySet()) {
+            updated += transactionRepository.assignCategory(entry.getKey(), entry.getValue());
+        }
+        // Budgets count spending per category, so the newly categorized payments now count towards them
+        Set<Long> changedUsers = new HashSet<>();
+        usersByCategory.forEach((categoryId, categoryUsers) -> {
+            for (Long userId : categoryUsers) {
+                budgetService.updateBudgetProgress(userId, categoryId);
+            }
+            changedUsers.addAll(categoryUsers);
+        });
+        changedUsers.forEach(financialFactsService::invalidate);
+        return updated;
+    }
+}
@@ -0,0 +1,97 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Category;
+import com.budgetwise.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps a bill's free-text category to one of the user's expense categories so
+ * bill payments count towards category breakdowns and budgets. Text that
+ * matches nothing falls back to the "Bills & EMI" system category. The name
+ * index is built once per user and cached for a short time; category changes
+ * evict it.
+ */
+@Service
+public class BillCategoryResolver {
+
+    static final String FALLBACK_CATEGORY = "Bills & EMI";
+
+    private final CategoryRepository categoryRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Long, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    private record CachedIndex(CategoryNameIndex index, Long fallbackId, long expiresAt) {
+    }
+
+    public BillCategoryResolver(CategoryRepository categoryRepository,
+                                @Value("${bills.category-resolver.ttl-ms:600000}") long ttlMs,
+                                @Value("${bills.category-resolver.max-entries:10000}") int maxEntries) {
+        this.categoryRepository = categoryRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Category id for the bill category text, or null if the user has no
+     * matching category and the fallback category does not exist.
+     */
+    public Long resolve(Long userId, String categoryText) {
+        CachedIndex cached = index(userId);
+        Long id = cached.index().find(categoryText);
+        return id != null ? id : cached.fallbackId();
+    }
+
+    /**
+     * Drop the user's cached index after their categories changed. System
+     * category changes are not user specific, so a null user clears everything.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            indexes.clear();
+        } else {
+            indexes.remove(userId);
+        }
+    }
+
+    private CachedIndex index(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedIndex cached = indexes.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        List<Category> categories = categoryRepository.findAllByUserIdIncludingSystem(userId);
+        CategoryNameIndex index = new CategoryNameIndex();
+        Long fallbackId = null;
+        // The user's own categories take precedence over system ones with the same name
+        for (Category category : categories) {
+            if (category.getType() == Category.CategoryType.EXPENSE && !Boolean.TRUE.equals(category.getIsSystem())) {
+                index.add(category.getName(), category.getId());
+            }
+        }
+        for (Category category : categories) {
+            if (category.getType() == Category.CategoryType.EXPENSE && Boolean.TRUE.equals(category.getIsSystem())) {
+                index.add(category.getName(), category.getId());
+                if (FALLBACK_CATEGORY.equals(category.getName())) {
+                    fallbackId = category.getId();
+                }
+            }
+        }
+
+        if (indexes.size() >= maxEntries) {
+            indexes.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (indexes.size() >= maxEntries) {
+                indexes.clear();
+            }
+        }
+        cached = new CachedIndex(index, fallbackId, now + ttlMs);
+        indexes.put(userId, cached);
+        return cached;
+    }
+}
@@ -0,0 +1,248 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Bill;
+import com.budgetwise.entity.BillOccurrence;
+import com.budgetwise.entity.Transaction;
+import com.budgetwise.repository.BillOccurrenceRepository;
+import com.budgetwise.repository.BillRepository;
+import com.budgetwise.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the concrete occurrences of recurring bills over a forward horizon
+ * and posts due occurrences of auto-pay bills as expense transactions.
+ *
+ * Both passes walk all users' rows once in id order, one bounded page per
+ * database transaction, so memory stays flat however many bills exist. Each
+ * page is read and written in the same transaction; if a user changes one of
+ * its bills meanwhile, the bill's version check fails and the page is redone
+ * from fresh rows. Each occurrence is posted at most once and with its own due
+ * date, so after downtime the next run simply catches up on everything that
+ * fell due.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillRecurrenceEngine {
+
+    private static final String[] DASHBOARD_CACHES = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" };
+
+    private final BillRepository billRepository;
+    private final BillOccurrenceRepository billOccurrenceRepository;
+    private final TransactionRepository transactionRepository;
+    private final BillCategoryResolver billCategoryResolver;
+    private final FinancialFactsService financialFactsService;
+    private final BudgetService budgetService;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${bills.recurrence.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${bills.recurrence.batch-size:200}")
+    private int batchSize;
+
+    @Value("${bills.recurrence.max-occurrences-per-run:400}")
+    private int maxOccurrencesPerRun;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${bills.recurrence.cron:0 15 0 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        try {
+            int generated = materializeOccurrences(today);
+            int posted = postDueOccurrences(today);
+            if (generated > 0 || posted > 0) {
+                log.info("Bill recurrence: {} occurrences generated, {} auto-posted", generated, posted);
+            }
+        } catch (RuntimeException e) {
+            log.error("Bill recurrence run failed", e);
+        }
+    }
+
+    int materializeOccurrences(LocalDate today) {
+        LocalDate horizon = today.plusDays(horizonDays);
+        PageRequest page = PageRequest.of(0, batchSize);
+        int total = 0;
+        long afterId = 0L;
+
+        List<Bill> bills;
+        do {
+            long from = afterId;
+            int[] generated = new int[1];
+            bills = inPageTransaction(status -> {
+                List<Bill> batch = billRepository.findBillsToMaterialize(horizon, from, page);
+                List<BillOccurrence> occurrences = new ArrayList<>();
+                for (Bill bill : batch) {
+                    materialize(bill, horizon, occurrences);
+                }
+                billOccurrenceRepository.saveAll(occurrences);
+                billRepository.saveAll(batch);
+                generated[0] = occurrences.size();
+                return batch;
+            });
+            if (bills.isEmpty()) {
+                break;
+            }
+            total += generated[0];
+            afterId = bills.get(bills.size() - 1).getId();
+        } while (bills.size() == batchSize);
+        return total;
+    }
+
+    /**
+     * Run one page in its own transaction. A page that lost a race with a
+     * user's change to one of its bills is redone once with the new rows; a
+     * second conflict fails the run, and the next run picks the page up again.
+     */
+    private <T> T inPageTransaction(TransactionCallback<T> work) {
+        try {
+            return transactionTemplate.execute(work);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Bill changed during recurrence run, retrying page: {}", e.getMessage());
+            return transactionTemplate.execute(work);
+        }
+    }
+
+    /**
+     * Add the bill's occurrences after its watermark up to the horizon. A bill
+     * far behind is capped per run and continues on the next one.
+     */
+    private void materialize(Bill bill, LocalDate horizon, List<BillOccurrence> out) {
+        Bill.RecurrenceType recurrence = bill.getRecurrence();
+        LocalDate date = bill.getMaterializedUntil() != null
+                ? recurrence.next(bill.getMaterializedUntil())
+                : bill.getNextDueDate();
+
+        LocalDate last = null;
+        int count = 0;
+        while (!date.isAfter(horizon) && count < maxOccurrencesPerRun) {
+            BillOccurrence occurrence = new BillOccurrence();
+            occurrence.setBillId(bill.getId());
+            occurrence.setUserId(bill.getUserId());
+            occurrence.setDueDate(date);
+            occurrence.setAmount(bill.getAmount());
+            out.add(occurrence);
+
+            last = date;
+            date = recurrence.next(date);
+            count++;
+        }
+        if (last != null) {
+            bill.setMaterializedUntil(last);
+        }
+    }
+
+    int postDueOccurrences(LocalDate today) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        int total = 0;
+        long afterId = 0L;
+
+        List<BillOccurrence> occurrences;
+        do {
+            long from = afterId;
+            occurrences = inPageTransaction(status -> {
+                List<BillOccurrence> batch = billOccurrenceRepository.findDueForAutoPost(today, from, page);
+                if (!batch.isEmpty()) {
+                    post(batch);
+                }
+                return batch;
+            });
+            if (occurrences.isEmpty()) {
+                break;
+            }
+            total += occurrences.size();
+            afterId = occurrences.get(occurrences.size() - 1).getId();
+        } while (occurrences.size() == batchSize);
+
+        if (total > 0) {
+            for (String name : DASHBOARD_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+        return total;
+    }
+
+    private void post(List<BillOccurrence> occurrences) {
+        Map<Long, Bill> bills = billRepository.findAllById(
+                occurrences.stream().map(BillOccurrence::getBillId).distinct().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Bill::getId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(occurrences.size());
+        for (BillOccurrence occurrence : occurrences) {
+            Bill bill = bills.get(occurrence.getBillId());
+            Transaction transaction = new Transaction();
+            transaction.setUserId(occurrence.getUserId());
+            transaction.setType(Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(occurrence.getAmount());
+            transaction.setCategoryId(billCategoryResolver.resolve(
+                    occurrence.getUserId(), bill != null ? bill.getCategory() : null));
+            transaction.setDescription("Bill Payment: " + (bill != null ? bill.getName() : "Recurring bill"));
+            transaction.setTransactionDate(occurrence.getDueDate());
+            transaction.setIsAnomaly(false);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        for (int i = 0; i < occurrences.size(); i++) {
+            BillOccurrence occurrence = occurrences.get(i);
+            occurrence.setStatus(BillOccurrence.OccurrenceStatus.POSTED);
+            occurrence.setTransactionId(transactions.get(i).getId());
+
+            // Move the bill past the posted occurrence, as a manual payment would
+            Bill bill = bills.get(occurrence.getBillId());
+            if (bill != null && bill.getNextDueDate() != null && !occurrence.getDueDate().isBefore(bill.getNextDueDate())) {
+                bill.setNextDueDate(bill.getRecurrence().next(occurrence.getDueDate()));
+                bill.setStatus(Bill.BillStatus.PENDING);
+            }
+        }
+        billOccurrenceRepository.saveAll(occurrences);
+        billRepository.saveAll(bills.values());
+
+        Map<Long, Set<Long>> categoriesByUser = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getCategoryId() != null) {
+                categoriesByUser.computeIfAbsent(transaction.getUserId(), id -> new HashSet<>())
+                        .add(transaction.getCategoryId());
+            }
+        }
+        categoriesByUser.forEach((userId, categoryIds) -> {
+            for (Long categoryId : categoryIds) {
+                budgetService.updateBudgetProgress(userId, categoryId);
+            }
+        });
+        for (BillOccurrence occurrence : occurrences) {
+            financialFactsService.invalidate(occurrence.getUserId());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.budgetwise.service;
 
 import com.budgetwise.dto.BillDto;
+import com.budgetwise.dto.BillOccurrenceDto;
 import com.budgetwise.entity.Bill;
+import com.budgetwise.entity.BillOccurrence;
 import com.budgetwise.entity.Transaction;
 import com.budgetwise.exception.ResourceNotFoundException;
+import com.budgetwise.repository.BillOccurrenceRepository;
 import com.budgetwise.repository.BillRepository;
 import com.budgetwise.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +26,10 @@ public class BillService {
 
     private final BillRepository billRepository;
     private final TransactionRepository transactionRepository;
+    private final BillOccurrenceRepository billOccurrenceRepository;
+    private final BillCategoryResolver billCategoryResolver;
+    private final FinancialFactsService financialFactsService;
+    private final BudgetService budgetService;
 
     @Transactional
     public BillDto createBill(BillDto dto, Long userId) {
@@ -35,6 +43,7 @@ public class BillService {
         bill.setNextDueDate(dto.getDueDate()); // Initial next due date is the due date
         bill.setStatus(Bill.BillStatus.PENDING);
         bill.setAutoReminder(dto.getAutoReminder() != null ? dto.getAutoReminder() : true);
+        bill.setAutoPay(dto.getAutoPay() != null ? dto.getAutoPay() : false);
         bill.setNotes(dto.getNotes());
 
         Bill saved = billRepository.save(bill);
@@ -42,9 +51,6 @@ public class BillService {
     }
 
     public List<BillDto> getAllBills(Long userId) {
-        // Update overdue bills first
-        updateOverdueBills(userId);
-
         return billRepository.findByUserIdOrderByNextDueDateAsc(userId).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -59,6 +65,25 @@ public class BillService {
                 .collect(Collectors.toList());
     }
 
+    public List<BillOccurrenceDto> getUpcomingOccurrences(Long userId, int days) {
+        LocalDate start = LocalDate.now();
+        Map<Long, String> billNames = billRepository.findByUserIdOrderByNextDueDateAsc(userId).stream()
+                .collect(Collectors.toMap(Bill::getId, Bill::getName));
+
+        return billOccurrenceRepository
+                .findByUserIdAndDueDateBetweenOrderByDueDateAsc(userId, start, start.plusDays(days)).stream()
+                .map(o -> BillOccurrenceDto.builder()
+                        .id(o.getId())
+                        .billId(o.getBillId())
+                        .billName(billNames.get(o.getBillId()))
+                        .dueDate(o.getDueDate())
+                        .amount(o.getAmount())
+                        .status(o.getStatus())
+                        .transactionId(o.getTransactionId())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public BillDto getBillById(Long id, Long userId) {
         Bill bill = billRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found"));
@@ -78,8 +103,15 @@ public class BillService {
         if (dto.getAutoReminder() != null) {
             bill.setAutoReminder(dto.getAutoReminder());
         }
+        if (dto.getAutoPay() != null) {
+            bill.setAutoPay(dto.getAutoPay());
+        }
         bill.setNotes(dto.getNotes());
 
+        // Regenerate unposted occurrences with the new schedule and amount
+        billOccurrenceRepository.deleteUpcomingByBillId(bill.getId());
+        bill.setMaterializedUntil(null);
+
         Bill updated = billRepository.save(bill);
         return mapToDto(updated);
     }
@@ -95,19 +127,32 @@ public class BillService {
         transaction.setUserId(userId);
         transaction.setType(Transaction.TransactionType.EXPENSE);
         transaction.setAmount(bill.getAmount());
-        transaction.setCategoryId(null); // Could map category name to ID if needed
+        transaction.setCategoryId(billCategoryResolver.resolve(userId, bill.getCategory()));
         transaction.setDescription("Bill Payment: " + bill.getName());
         transaction.setTransactionDate(LocalDate.now());
         transaction.setIsAnomaly(false);
 
-        transactionRepository.save(transaction);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        financialFactsService.invalidate(userId);
+        budgetService.updateBudgetProgress(userId, savedTransaction.getCategoryId());
+
+        // Record the payment against the occurrence so it is not auto-posted again
+        if (bill.getNextDueDate() != null) {
+            billOccurrenceRepository.findByBillIdAndDueDate(bill.getId(), bill.getNextDueDate())
+                    .filter(o -> o.getStatus() == BillOccurrence.OccurrenceStatus.UPCOMING)
+                    .ifPresent(o -> {
+                        o.setStatus(BillOccurrence.OccurrenceStatus.POSTED);
+                        o.setTransactionId(savedTransaction.getId());
+                        billOccurrenceRepository.save(o);
+                    });
+        }
 
         // Update bill status and calculate next due date
         bill.setStatus(Bill.BillStatus.PAID);
 
         // Calculate next due date based on recurrence
         if (bill.getRecurrence() != Bill.RecurrenceType.ONE_TIME) {
-            LocalDate nextDue = calculateNextDueDate(bill.getNextDueDate(), bill.getRecurrence());
+            LocalDate nextDue = bill.getRecurrence().next(bill.getNextDueDate());
             bill.setNextDueDate(nextDue);
             bill.setStatus(Bill.BillStatus.PENDING); // Reset for next occurrence
         }
@@ -121,39 +166,10 @@ public class BillService {
     public void deleteBill(Long id, Long userId) {
         Bill bill = billRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill not found"));
+        billOccurrenceRepository.deleteByBillId(bill.getId());
         billRepository.delete(bill);
     }
 
-    private LocalDate calculateNextDueDate(LocalDate currentDueDate, Bill.RecurrenceType recurrence) {
-        switch (recurrence) {
-            case WEEKLY:
-                return currentDueDate.plusWeeks(1);
-            case MONTHLY:
-                return currentDueDate.plusMonths(1);
-            case QUARTERLY:
-                return currentDueDate.plusMonths(3);
-            case YEARLY:
-                return currentDueDate.plusYears(1);
-            case ONE_TIME:
-            default:
-                return currentDueDate;
-        }
-    }
-
-    private void updateOverdueBills(Long userId) {
-        LocalDate today = LocalDate.now();
-        List<Bill> overdueBills = billRepository.findByUserIdAndNextDueDateBeforeAndStatus(
-                userId, today, Bill.BillStatus.PENDING);
-
-        for (Bill bill : overdueBills) {
-            bill.setStatus(Bill.BillStatus.OVERDUE);
-        }
-
-        if (!overdueBills.isEmpty()) {
-            billRepository.saveAll(overdueBills);
-        }
-    }
-
     private BillDto mapToDto(Bill bill) {
         BillDto dto = BillDto.builder()
                 .id(bill.getId())
@@ -163,8 +179,9 @@ public class BillService {
                 .recurrence(bill.getRecurrence())
                 .dueDate(bill.getDueDate())
                 .nextDueDate(bill.getNextDueDate())
-                .status(bill.getStatus())
+                .status(effectiveStatus(bill))
                 .autoReminder(bill.getAutoReminder())
+                .autoPay(bill.getAutoPay())
                 .notes(bill.getNotes())
                 .createdAt(bill.getCreatedAt())
                 .updatedAt(bill.getUpdatedAt())
@@ -178,4 +195,16 @@ public class BillService {
 
         return dto;
     }
+
+    /**
+     * Bills are marked overdue by {@link BillSweeper}; until it next runs, report
+     * a pending bill past its due date as overdue without writing on the read path.
+     */
+    private Bill.BillStatus effectiveStatus(Bill bill) {
+        if (bill.getStatus() == Bill.BillStatus.PENDING && bill.getNextDueDate() != null
+                && bill.getNextDueDate().isBefore(LocalDate.now())) {
+            return Bill.BillStatus.OVERDUE;
+        }
+        return bill.getStatus();
+    }
 }
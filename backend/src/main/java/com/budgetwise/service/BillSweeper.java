@@ -0,0 +1,85 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Bill;
+import com.budgetwise.repository.BillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodic bill maintenance for all users: marks pending bills past their due
+ * date as overdue with batched bulk updates, and sends one due-soon reminder
+ * per bill occurrence to users who have reminders enabled. Both steps are
+ * idempotent, so a missed or repeated run is harmless.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillSweeper {
+
+    private final BillRepository billRepository;
+    private final WebSocketService webSocketService;
+
+    @Value("${bills.sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bills.reminder.days-ahead:3}")
+    private int reminderDaysAhead;
+
+    @Scheduled(cron = "${bills.sweeper.cron:0 0 * * * *}")
+    public void sweep() {
+        LocalDate today = LocalDate.now();
+        int overdue = markOverdueBills(today);
+        int reminded = sendDueSoonReminders(today);
+        if (overdue > 0 || reminded > 0) {
+            log.info("Bill sweep: {} bills marked overdue, {} reminders sent", overdue, reminded);
+        }
+    }
+
+    int markOverdueBills(LocalDate today) {
+        int total = 0;
+        int updated;
+        do {
+            updated = billRepository.markOverdueBatch(today, batchSize);
+            total += updated;
+        } while (updated == batchSize);
+        return total;
+    }
+
+    int sendDueSoonReminders(LocalDate today) {
+        LocalDate until = today.plusDays(reminderDaysAhead);
+        PageRequest page = PageRequest.of(0, batchSize);
+        int total = 0;
+        long afterId = 0L;
+
+        List<Bill> bills;
+        do {
+            bills = billRepository.findBillsToRemind(today, until, afterId, page);
+            List<Long> ids = new ArrayList<>(bills.size());
+            for (Bill bill : bills) {
+                webSocketService.sendNotification(bill.getUserId(), reminderMessage(bill, today));
+                ids.add(bill.getId());
+                afterId = bill.getId();
+            }
+            if (!ids.isEmpty()) {
+                billRepository.markReminded(ids);
+                total += ids.size();
+            }
+        } while (bills.size() == batchSize);
+        return total;
+    }
+
+    private String reminderMessage(Bill bill, LocalDate today) {
+        long days = ChronoUnit.DAYS.between(today, bill.getNextDueDate());
+        String when = days == 0 ? "today" : days == 1 ? "tomorrow" : "in " + days + " days";
+        return String.format("Reminder: %s (%s) is due %s", bill.getName(), bill.getAmount().toPlainString(), when);
+    }
+}
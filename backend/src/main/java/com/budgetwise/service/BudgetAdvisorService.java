@@ -1,17 +1,13 @@
 package com.budgetwise.service;
 
 import com.budgetwise.dto.BudgetAdviceDto;
-import com.budgetwise.entity.Transaction;
-import com.budgetwise.entity.UserProfile;
-import com.budgetwise.repository.TransactionRepository;
-import com.budgetwise.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,23 +16,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BudgetAdvisorService {
 
-    private final TransactionRepository transactionRepository;
-    private final UserProfileRepository userProfileRepository;
+    private final FinancialFactsService financialFactsService;
 
     public List<BudgetAdviceDto> getPersonalizedAdvice(Long userId) {
-        // Get current month transactions
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
+        // Current month totals and profile income
+        FinancialFacts facts = financialFactsService.get(userId);
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                userId, startOfMonth, endOfMonth);
-
-        // Get user profile for income
-        UserProfile profile = userProfileRepository.findByUserId(userId)
-                .orElse(null);
-
-        BigDecimal monthlyIncome = (profile != null && profile.getMonthlyIncome() != null)
-                ? profile.getMonthlyIncome()
+        BigDecimal monthlyIncome = facts.profileMonthlyIncome() != null
+                ? facts.profileMonthlyIncome()
                 : BigDecimal.ZERO;
 
         if (monthlyIncome.compareTo(BigDecimal.ZERO) == 0) {
@@ -48,30 +35,19 @@ public class BudgetAdvisorService {
                     .build());
         }
 
-        // Calculate income and expenses
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalIncome = facts.monthIncome();
+        BigDecimal totalExpenses = facts.monthExpenses();
 
         // Use actual income if available, otherwise use profile income
         BigDecimal effectiveIncome = totalIncome.compareTo(BigDecimal.ZERO) > 0
                 ? totalIncome
                 : monthlyIncome;
 
-        // Group expenses by category
-        Map<String, BigDecimal> categorySpending = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .filter(t -> t.getCategoryId() != null)
-                .collect(Collectors.groupingBy(
-                        t -> "Category " + t.getCategoryId(), // In production, fetch category names
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
+        // Expenses by category
+        Map<String, BigDecimal> categorySpending = new LinkedHashMap<>();
+        for (FinancialFacts.CategoryTotal total : facts.expensesByCategory()) {
+            categorySpending.merge(total.name(), total.amount(), BigDecimal::add);
+        }
 
         List<BudgetAdviceDto> advice = new ArrayList<>();
 
@@ -10,6 +10,8 @@ import com.budgetwise.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -24,6 +26,12 @@ public class BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
+    private final WebSocketService webSocketService;
+    private final FinancialFactsService financialFactsService;
+
+    private static final int ALERT_NONE = 0;
+    private static final int ALERT_THRESHOLD = 1;
+    private static final int ALERT_EXCEEDED = 2;
 
     @Transactional
     public BudgetDto createBudget(BudgetDto dto, Long userId) {
@@ -56,6 +64,7 @@ public class BudgetService {
         budget.setSpent(BigDecimal.ZERO);
 
         Budget saved = budgetRepository.save(budget);
+        financialFactsService.invalidate(userId);
 
         // Calculate initial spent amount
         updateBudgetProgress(userId, saved.getCategoryId());
@@ -107,6 +116,7 @@ public class BudgetService {
         }
 
         Budget updated = budgetRepository.save(budget);
+        financialFactsService.invalidate(userId);
         updateBudgetProgress(userId, updated.getCategoryId());
 
         return mapToDto(budgetRepository.findById(updated.getId()).orElseThrow());
@@ -117,6 +127,7 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
         budgetRepository.delete(budget);
+        financialFactsService.invalidate(userId);
     }
 
     @Transactional
@@ -158,6 +169,7 @@ public class BudgetService {
         transaction.setIsAnomaly(false);
 
         transactionRepository.save(transaction);
+        financialFactsService.invalidate(userId);
 
         // Update budget progress
         updateBudgetProgress(userId, budget.getCategoryId());
@@ -178,10 +190,62 @@ public class BudgetService {
             BigDecimal spent = transactionRepository.calculateSpentForBudget(
                     userId, categoryId, budget.getStartDate(), budget.getEndDate());
             budget.setSpent(spent != null ? spent : BigDecimal.ZERO);
+            evaluateAlert(budget);
             budgetRepository.save(budget);
         }
     }
 
+    /**
+     * Edge-triggered threshold alerts: an alert is sent only when spending moves
+     * into a higher level than already alerted for this budget period, so each
+     * level fires at most once per period even if spending dips below it and
+     * rises again. The push goes out after the transaction that changed spent
+     * commits.
+     */
+    private void evaluateAlert(Budget budget) {
+        if (!budget.getStartDate().equals(budget.getAlertPeriodStart())) {
+            budget.setAlertPeriodStart(budget.getStartDate());
+            budget.setAlertLevel(ALERT_NONE);
+        }
+
+        BigDecimal percentage = budget.getAmount().compareTo(BigDecimal.ZERO) > 0
+                ? budget.getSpent().multiply(new BigDecimal("100")).divide(budget.getAmount(), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        BigDecimal threshold = budget.getAlertThreshold() != null ? budget.getAlertThreshold() : new BigDecimal("80.00");
+
+        int level = ALERT_NONE;
+        if (percentage.compareTo(new BigDecimal("100")) >= 0) {
+            level = ALERT_EXCEEDED;
+        } else if (percentage.compareTo(threshold) >= 0) {
+            level = ALERT_THRESHOLD;
+        }
+
+        int previous = budget.getAlertLevel() != null ? budget.getAlertLevel() : ALERT_NONE;
+        if (level <= previous) {
+            return;
+        }
+        budget.setAlertLevel(level);
+
+        String categoryName = categoryRepository.findById(budget.getCategoryId())
+                .map(Category::getName)
+                .orElse("your");
+        String message = level == ALERT_EXCEEDED
+                ? String.format("You have exceeded your %s budget (%s%% spent)", categoryName, percentage.toPlainString())
+                : String.format("You have used %s%% of your %s budget", percentage.toPlainString(), categoryName);
+        Long userId = budget.getUserId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    webSocketService.sendBudgetAlert(userId, message);
+                }
+            });
+        } else {
+            webSocketService.sendBudgetAlert(userId, message);
+        }
+    }
+
     private BudgetDto mapToDto(Budget budget) {
         BudgetDto dto = new BudgetDto();
         dto.setId(budget.getId());
@@ -0,0 +1,282 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.CategorizationModel;
+import com.budgetwise.repository.CategorizationModelRepository;
+import com.budgetwise.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user {@link CategoryClassifier}s, learned from the categories users give
+ * their transactions. Corrections are learned immediately, with extra weight;
+ * categorized transactions are counted by {@link #train}, which continues from
+ * the last transaction it counted. Models are loaded on first use and kept in
+ * memory; changed models are written back periodically, after which the least
+ * recently used are unloaded down to the cache bound.
+ */
+@Service
+@Slf4j
+public class CategorizationModelService {
+
+    private final CategorizationModelRepository modelRepository;
+    private final TransactionRepository transactionRepository;
+    private final double minProbability;
+    private final int minExamples;
+    private final int correctionWeight;
+    private final int maxCachedModels;
+    private final Map<Long, UserModel> models = new ConcurrentHashMap<>();
+
+    /** A loaded model; lock it while using the classifier. */
+    private static final class UserModel {
+        final CategoryClassifier classifier;
+        /** Held while the model is written back, so a discard can wait for a write in flight. */
+        final Object saveLock = new Object();
+        long trainedThroughId;
+        boolean dirty;
+        /** Set when the user's account is deleted; the model is never written back again. */
+        boolean discarded;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        UserModel(CategoryClassifier classifier, long trainedThroughId) {
+            this.classifier = classifier;
+            this.trainedThroughId = trainedThroughId;
+        }
+    }
+
+    public CategorizationModelService(CategorizationModelRepository modelRepository,
+                                      TransactionRepository transactionRepository,
+                                      @Value("${categorization.learning.min-probability:0.6}") double minProbability,
+                                      @Value("${categorization.learning.min-examples:5}") int minExamples,
+                                      @Value("${categorization.learning.correction-weight:3}") int correctionWeight,
+                                      @Value("${categorization.learning.max-cached-models:5000}") int maxCachedModels) {
+        this.modelRepository = modelRepository;
+        this.transactionRepository = transactionRepository;
+        this.minProbability = minProbability;
+        this.minExamples = minExamples;
+        this.correctionWeight = correctionWeight;
+        this.maxCachedModels = maxCachedModels;
+    }
+
+    /**
+     * The category the user's model predicts for the description, or null if
+     * the model has too few examples or is not confident enough.
+     */
+    public CategoryClassifier.Prediction predict(Long userId, String description) {
+        UserModel model = model(userId);
+        CategoryClassifier.Prediction prediction;
+        synchronized (model) {
+            if (model.classifier.totalExamples() < minExamples) {
+                return null;
+            }
+            prediction = model.classifier.predict(description);
+        }
+        return prediction != null && prediction.probability() >= minProbability ? prediction : null;
+    }
+
+    /**
+     * Learn that the user put a transaction with this description in the
+     * category. Inside a database transaction this takes effect when it
+     * commits, so a rolled-back change teaches the model nothing.
+     */
+    public void learnCorrection(Long userId, String description, Long categoryId) {
+        afterCommit(() -> {
+            UserModel model = model(userId);
+            synchronized (model) {
+                model.classifier.learn(description, categoryId, correctionWeight);
+                model.dirty = true;
+            }
+        });
+    }
+
+    /**
+     * Forget a category the user deleted, once the deletion commits.
+     */
+    public void forgetCategory(Long userId, Long categoryId) {
+        afterCommit(() -> {
+            UserModel model = model(userId);
+            synchronized (model) {
+                model.classifier.forget(categoryId);
+                model.dirty = true;
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Drop the user's loaded model without saving it, e.g. when the account is
+     * being deleted. Returns once a write of the model that is already in
+     * progress has finished, so the stored model can be deleted afterwards.
+     */
+    public void evict(Long userId) {
+        UserModel model = models.remove(userId);
+        if (model != null) {
+            synchronized (model.saveLock) {
+                model.discarded = true;
+            }
+        }
+    }
+
+    /**
+     * Count the user's categorized transactions the model has not seen yet and
+     * save it. Returns the number of transactions learned.
+     */
+    public int train(Long userId, int pageSize) {
+        UserModel model = model(userId);
+        PageRequest page = PageRequest.of(0, pageSize);
+        int learned = 0;
+        List<Object[]> rows;
+        do {
+            long afterId;
+            synchronized (model) {
+                afterId = model.trainedThroughId;
+            }
+            rows = transactionRepository.findCategorizedDescriptionsAfter(userId, afterId, page);
+            if (rows.isEmpty()) {
+                break;
+            }
+            synchronized (model) {
+                for (Object[] row : rows) {
+                    long id = ((Number) row[0]).longValue();
+                    if (id <= model.trainedThroughId) {
+                        continue;
+                    }
+                    model.classifier.learn((String) row[1], ((Number) row[2]).longValue(), 1);
+                    model.trainedThroughId = id;
+                    learned++;
+                }
+                model.dirty = true;
+            }
+        } while (rows.size() == pageSize);
+
+        if (learned > 0) {
+            save(userId, model);
+        }
+        return learned;
+    }
+
+    /**
+     * Write changed models back, then unload the least recently used models
+     * beyond the cache bound.
+     */
+    @Scheduled(fixedDelayString = "${categorization.learning.flush-ms:60000}")
+    public void flush() {
+        for (Map.Entry<Long, UserModel> entry : models.entrySet()) {
+            try {
+                save(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Could not save categorization model of user {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        int excess = models.size() - maxCachedModels;
+        if (excess > 0) {
+            List<Map.Entry<Long, UserModel>> entries = new ArrayList<>(models.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+            for (Map.Entry<Long, UserModel> entry : entries) {
+                if (excess <= 0) {
+                    break;
+                }
+                boolean dirty;
+                synchronized (entry.getValue()) {
+                    dirty = entry.getValue().dirty;
+                }
+                // Changed since the save above; kept until the next flush writes it
+                if (!dirty && models.remove(entry.getKey(), entry.getValue())) {
+                    excess--;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    int cachedModels() {
+        return models.size();
+    }
+
+    private UserModel model(Long userId) {
+        UserModel model = models.get(userId);
+        if (model == null) {
+            UserModel loaded = modelRepository.findByUserId(userId)
+                    .map(stored -> new UserModel(load(userId, stored), stored.getTrainedThroughId()))
+                    .orElseGet(() -> new UserModel(new CategoryClassifier(), 0L));
+            model = models.putIfAbsent(userId, loaded);
+            if (model == null) {
+                model = loaded;
+            }
+        }
+        model.lastUsed = System.currentTimeMillis();
+        return model;
+    }
+
+    private CategoryClassifier load(Long userId, CategorizationModel stored) {
+        try {
+            return CategoryClassifier.fromBytes(stored.getModelData());
+        } catch (IllegalArgumentException e) {
+            // Retrained from scratch: the stored progress is reset along with the model
+            log.warn("Discarding unreadable categorization model of user {}: {}", userId, e.getMessage());
+            stored.setTrainedThroughId(0L);
+            return new CategoryClassifier();
+        }
+    }
+
+    private void save(Long userId, UserModel model) {
+        synchronized (model.saveLock) {
+            if (model.discarded) {
+                return;
+            }
+            byte[] data;
+            long trainedThroughId;
+            synchronized (model) {
+                if (!model.dirty) {
+                    return;
+                }
+                data = model.classifier.toBytes();
+                trainedThroughId = model.trainedThroughId;
+                model.dirty = false;
+            }
+            try {
+                CategorizationModel stored = modelRepository.findByUserId(userId).orElseGet(() -> {
+                    CategorizationModel created = new CategorizationModel();
+                    created.setUserId(userId);
+                    return created;
+                });
+                stored.setModelData(data);
+                stored.setTrainedThroughId(trainedThroughId);
+                modelRepository.save(stored);
+            } catch (RuntimeException e) {
+                synchronized (model) {
+                    model.dirty = true;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -4,124 +4,189 @@ import com.budgetwise.dto.CategorizationSuggestionDto;
 import com.budgetwise.entity.Category;
 import com.budgetwise.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CategorizationService {
 
     private final CategoryRepository categoryRepository;
+    private final OpenAIService openAIService;
+    private final AiCategoryCache aiCategoryCache;
+    private final KeywordCategorizer keywordCategorizer;
+    private final CategorizationModelService modelService;
 
-    // Keyword dictionary for categorization
-    private static final Map<String, List<String>> CATEGORY_KEYWORDS = new HashMap<>() {{
-        put("Food & Dining", Arrays.asList("restaurant", "cafe", "coffee", "pizza", "burger", "food", "dining",
-                "mcdonald", "starbucks", "subway", "chipotle", "domino", "kfc", "taco", "wendy"));
-        put("Groceries", Arrays.asList("grocery", "supermarket", "walmart", "target", "costco", "safeway",
-                "kroger", "whole foods", "trader joe", "aldi", "market"));
-        put("Transportation", Arrays.asList("uber", "lyft", "taxi", "gas", "fuel", "shell", "chevron", "exxon",
-                "bp", "parking", "metro", "transit", "bus", "train"));
-        put("Rent", Arrays.asList("rent", "lease", "apartment", "housing", "landlord"));
-        put("Utilities", Arrays.asList("electric", "water", "gas", "internet", "phone", "utility", "verizon",
-                "at&t", "comcast", "spectrum", "t-mobile"));
-        put("Healthcare", Arrays.asList("doctor", "hospital", "pharmacy", "medical", "health", "clinic",
-                "cvs", "walgreens", "medicine", "prescription"));
-        put("Entertainment", Arrays.asList("movie", "cinema", "netflix", "spotify", "hulu", "disney", "game",
-                "theater", "concert", "ticket", "entertainment"));
-        put("Shopping", Arrays.asList("amazon", "ebay", "shop", "store", "mall", "clothing", "fashion",
-                "nike", "adidas", "zara", "h&m"));
-        put("Education", Arrays.asList("school", "university", "college", "course", "tuition", "book",
-                "education", "learning", "udemy", "coursera"));
-        put("Travel", Arrays.asList("hotel", "flight", "airline", "airbnb", "booking", "expedia", "travel",
-                "vacation", "trip", "airport"));
-        put("Insurance", Arrays.asList("insurance", "policy", "premium", "geico", "state farm", "allstate"));
-    }};
+    @Value("${ai.categorization.enabled:false}")
+    private boolean aiEnabled;
 
-    public CategorizationSuggestionDto suggestCategory(String description, Long userId) {
-        if (description == null || description.trim().isEmpty()) {
-            return getDefaultSuggestion(userId);
-        }
+    @Value("${ai.categorization.batch-size:50}")
+    private int aiBatchSize;
 
-        String lowerDesc = description.toLowerCase();
+    @Value("${ai.categorization.timeout-ms:20000}")
+    private long aiTimeoutMs;
 
-        // Get all categories for user
-        List<Category> categories = categoryRepository.findByUserIdOrIsSystemTrue(userId);
+    /**
+     * The category the user's learned model predicts with confidence, else the
+     * best keyword match.
+     */
+    public CategorizationSuggestionDto suggestCategory(String description, Long userId) {
+        CategorizationSuggestionDto learned = learnedSuggestion(description, userId);
+        return learned != null ? learned : keywordCategorizer.suggest(userId, description);
+    }
 
-        // Try to match keywords
-        Map<String, Double> categoryScores = new HashMap<>();
+    /**
+     * Suggestions for many descriptions at once, in order. Confident
+     * predictions of the user's learned model come first, and only the
+     * descriptions it leaves open are looked up further. Descriptions whose
+     * normalized form the AI model has categorized before are answered from
+     * {@link AiCategoryCache}; when AI categorization is enabled the rest are
+     * sent to the model, many per request. Anything still open, or answered
+     * with a category the user does not have, falls back to the keyword match.
+     */
+    public List<CategorizationSuggestionDto> categorizeBatch(List<String> descriptions, Long userId) {
+        List<CategorizationSuggestionDto> suggestions = new ArrayList<>(Collections.nCopies(descriptions.size(), null));
+        List<String> keys = new ArrayList<>(descriptions.size());
+        for (int i = 0; i < descriptions.size(); i++) {
+            CategorizationSuggestionDto learned = learnedSuggestion(descriptions.get(i), userId);
+            suggestions.set(i, learned);
+            // An empty key keeps descriptions the learned model answered away from the AI cache and model
+            keys.add(learned != null ? "" : AiCategoryCache.normalize(descriptions.get(i)));
+        }
 
-        for (Category category : categories) {
-            double score = calculateMatchScore(lowerDesc, category.getName());
-            if (score > 0) {
-                categoryScores.put(category.getName(), score);
+        List<Category> categories = categoryRepository.findByUserIdOrIsSystemTrue(userId);
+        Set<String> distinct = new LinkedHashSet<>(keys);
+        distinct.remove("");
+
+        Map<String, String> cached = aiCategoryCache.getAll(distinct);
+        Map<String, String> answered = aiEnabled ? askModel(descriptions, keys, cached.keySet()) : Map.of();
+
+        CategoryNameIndex index = new CategoryNameIndex();
+        Map<Long, String> names = new HashMap<>();
+        // The user's own categories take precedence over system ones with the same name
+        for (boolean system : new boolean[] { false, true }) {
+            for (Category category : categories) {
+                if (category.getType() == Category.CategoryType.EXPENSE
+                        && Boolean.TRUE.equals(category.getIsSystem()) == system) {
+                    index.add(category.getName(), category.getId());
+                    names.put(category.getId(), category.getName());
+                }
             }
         }
 
-        // Find best match
-        if (!categoryScores.isEmpty()) {
-            String bestCategory = categoryScores.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-
-            if (bestCategory != null) {
-                Category category = categories.stream()
-                        .filter(c -> c.getName().equals(bestCategory))
-                        .findFirst()
-                        .orElse(null);
-
-                if (category != null) {
-                    double confidence = Math.min(100, categoryScores.get(bestCategory) * 100);
-                    return CategorizationSuggestionDto.builder()
-                            .categoryId(category.getId())
-                            .categoryName(category.getName())
-                            .confidence(confidence)
-                            .reason(String.format("Matched keywords in description: '%s'", description))
-                            .build();
-                }
+        List<Integer> unmatched = new ArrayList<>();
+        for (int i = 0; i < descriptions.size(); i++) {
+            if (suggestions.get(i) != null) {
+                continue;
+            }
+            String key = keys.get(i);
+            String aiCategory = cached.containsKey(key) ? cached.get(key) : answered.get(key);
+            Long categoryId = aiCategory != null && !aiCategory.equals("Other") ? index.find(aiCategory) : null;
+            if (categoryId != null) {
+                suggestions.set(i, CategorizationSuggestionDto.builder()
+                        .categoryId(categoryId)
+                        .categoryName(names.get(categoryId))
+                        .confidence(80.0)
+                        .reason(cached.containsKey(key) ? "Categorized by AI (cached)" : "Categorized by AI")
+                        .build());
+            } else {
+                unmatched.add(i);
             }
         }
 
-        // No match found, return default
-        return getDefaultSuggestion(userId);
+        // One keyword pass for the rest, resolving the user's categories once
+        List<CategorizationSuggestionDto> byKeyword = keywordCategorizer.suggestAll(userId,
+                unmatched.stream().map(descriptions::get).toList());
+        for (int j = 0; j < unmatched.size(); j++) {
+            suggestions.set(unmatched.get(j), byKeyword.get(j));
+        }
+        return suggestions;
     }
 
-    private double calculateMatchScore(String description, String categoryName) {
-        List<String> keywords = CATEGORY_KEYWORDS.getOrDefault(categoryName, new ArrayList<>());
-
-        int matchCount = 0;
-        for (String keyword : keywords) {
-            if (description.contains(keyword)) {
-                matchCount++;
+    /**
+     * Ask the model for each distinct key not already cached, one request per
+     * batch, and cache what it answers. Keys whose batch fails or does not
+     * finish in time are left out.
+     */
+    private Map<String, String> askModel(List<String> descriptions, List<String> keys, Set<String> cached) {
+        List<String> pendingKeys = new ArrayList<>();
+        List<String> pendingDescriptions = new ArrayList<>();
+        Set<String> seen = new HashSet<>(cached);
+        for (int i = 0; i < keys.size(); i++) {
+            if (!keys.get(i).isEmpty() && seen.add(keys.get(i))) {
+                pendingKeys.add(keys.get(i));
+                pendingDescriptions.add(descriptions.get(i));
             }
         }
+        if (pendingKeys.isEmpty()) {
+            return Map.of();
+        }
 
-        return keywords.isEmpty() ? 0 : (double) matchCount / keywords.size();
-    }
-
-    private CategorizationSuggestionDto getDefaultSuggestion(Long userId) {
-        // Return "Other Expense" as default
-        Category defaultCategory = categoryRepository.findByUserIdOrIsSystemTrue(userId).stream()
-                .filter(c -> c.getName().equals("Other Expense"))
-                .findFirst()
-                .orElse(null);
-
-        if (defaultCategory != null) {
-            return CategorizationSuggestionDto.builder()
-                    .categoryId(defaultCategory.getId())
-                    .categoryName(defaultCategory.getName())
-                    .confidence(30.0)
-                    .reason("No specific keywords matched, using default category")
-                    .build();
+        List<CompletableFuture<List<String>>> calls = new ArrayList<>();
+        for (int from = 0; from < pendingKeys.size(); from += aiBatchSize) {
+            calls.add(openAIService.categorizeBatchAsync(
+                    pendingDescriptions.subList(from, Math.min(pendingKeys.size(), from + aiBatchSize))));
         }
 
-        return null;
+        Map<String, String> answered = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(aiTimeoutMs);
+        for (int c = 0; c < calls.size(); c++) {
+            try {
+                List<String> result = calls.get(c).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                for (int j = 0; j < result.size(); j++) {
+                    if (result.get(j) != null) {
+                        String key = pendingKeys.get(c * aiBatchSize + j);
+                        answered.put(key, result.get(j));
+                        aiCategoryCache.put(key, result.get(j));
+                    }
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("AI categorization batch failed, using keywords: {}", e.getMessage());
+                calls.get(c).cancel(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return answered;
     }
 
+    /**
+     * Teach the user's model that the description belongs in the category.
+     */
     public void learnFromCorrection(String description, Long categoryId, Long userId) {
-        // In a production system, this would store the correction in a learning database
-        // For now, this is a placeholder for future ML implementation
-        // Could store: description -> categoryId mappings for user-specific learning
+        if (keywordCategorizer.categoryName(userId, categoryId) == null) {
+            throw new RuntimeException("Category not found with ID: " + categoryId);
+        }
+        modelService.learnCorrection(userId, description, categoryId);
+    }
+
+    private CategorizationSuggestionDto learnedSuggestion(String description, Long userId) {
+        if (description == null || description.trim().isEmpty()) {
+            return null;
+        }
+        CategoryClassifier.Prediction prediction = modelService.predict(userId, description);
+        if (prediction == null) {
+            return null;
+        }
+        // The category may have been deleted since the model learned it
+        String name = keywordCategorizer.categoryName(userId, prediction.categoryId());
+        if (name == null) {
+            return null;
+        }
+        return CategorizationSuggestionDto.builder()
+                .categoryId(prediction.categoryId())
+                .categoryName(name)
+                .confidence(Math.round(prediction.probability() * 1000) / 10.0)
+                .reason("Learned from your previous categorizations")
+                .build();
     }
 }
@@ -0,0 +1,76 @@
+package com.budgetwise.service;
+
+import com.budgetwise.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Trains each user's categorization model on their categorized transactions.
+ * The first run counts the whole history; later runs only transactions added
+ * since. Users are walked in id order and models are written back and
+ * unloaded after every page of users, so memory stays bounded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategorizationTrainingJob {
+
+    private final TransactionRepository transactionRepository;
+    private final CategorizationModelService modelService;
+
+    @Value("${categorization.learning.user-batch-size:100}")
+    private int userBatchSize;
+
+    @Value("${categorization.learning.transaction-batch-size:1000}")
+    private int transactionBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void trainOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${categorization.learning.training-cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            long started = System.currentTimeMillis();
+            int learned = trainAll();
+            if (learned > 0) {
+                log.info("Categorization training: {} transactions learned in {} ms",
+                        learned, System.currentTimeMillis() - started);
+            }
+        } catch (RuntimeException e) {
+            log.error("Categorization training failed", e);
+        }
+    }
+
+    int trainAll() {
+        PageRequest page = PageRequest.of(0, userBatchSize);
+        int learned = 0;
+        long afterId = 0L;
+
+        List<Long> userIds;
+        do {
+            userIds = transactionRepository.findUserIdsAfter(afterId, page);
+            for (Long userId : userIds) {
+                try {
+                    learned += modelService.train(userId, transactionBatchSize);
+                } catch (RuntimeException e) {
+                    log.warn("Categorization training for user {} failed: {}", userId, e.getMessage());
+                }
+            }
+            modelService.flush();
+            if (!userIds.isEmpty()) {
+                afterId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == userBatchSize);
+        return learned;
+    }
+}
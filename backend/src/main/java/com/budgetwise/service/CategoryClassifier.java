@@ -0,0 +1,331 @@
+package com.budgetwise.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Multinomial naive Bayes over the words of transaction descriptions, trained
+ * online one example at a time. Words and adjacent word pairs are hashed to
+ * int features and counted per category in open-addressing int maps, so a
+ * model holds no strings and serializes to a compact byte array. Not thread
+ * safe; callers lock around it.
+ */
+final class CategoryClassifier {
+
+    private static final int FORMAT_VERSION = 1;
+    /** Additive smoothing for every feature count; well below 1 so a few examples outweigh a large vocabulary. */
+    private static final double ALPHA = 0.1;
+
+    /** A category with the probability the model gives it. */
+    record Prediction(long categoryId, double probability) {
+    }
+
+    private long[] categoryIds = new long[0];
+    private int[] examples = new int[0];
+    private long[] featureTotals = new long[0];
+    private FeatureCounts[] counts = new FeatureCounts[0];
+    /** Total count of each feature over all categories; its size is the vocabulary size. */
+    private FeatureCounts vocabulary = new FeatureCounts();
+    private int totalExamples;
+
+    /**
+     * Count the description's features towards the category, as if it had
+     * been seen {@code weight} times.
+     */
+    void learn(String description, long categoryId, int weight) {
+        int[] features = features(description);
+        if (features.length == 0 || weight <= 0) {
+            return;
+        }
+        int c = indexOf(categoryId);
+        if (c < 0) {
+            c = categoryIds.length;
+            categoryIds = Arrays.copyOf(categoryIds, c + 1);
+            examples = Arrays.copyOf(examples, c + 1);
+            featureTotals = Arrays.copyOf(featureTotals, c + 1);
+            counts = Arrays.copyOf(counts, c + 1);
+            categoryIds[c] = categoryId;
+            counts[c] = new FeatureCounts();
+        }
+        for (int feature : features) {
+            counts[c].add(feature, weight);
+            vocabulary.add(feature, weight);
+        }
+        examples[c] += weight;
+        featureTotals[c] += (long) features.length * weight;
+        totalExamples += weight;
+    }
+
+    /**
+     * Most probable category for the description, or null if the model has
+     * not seen any of its words.
+     */
+    Prediction predict(String description) {
+        int[] features = features(description);
+        if (categoryIds.length == 0) {
+            return null;
+        }
+        boolean known = false;
+        for (int feature : features) {
+            if (vocabulary.get(feature) > 0) {
+                known = true;
+                break;
+            }
+        }
+        if (!known) {
+            return null;
+        }
+
+        double vocabularySize = vocabulary.size();
+        double[] scores = new double[categoryIds.length];
+        int best = 0;
+        for (int c = 0; c < categoryIds.length; c++) {
+            double score = Math.log((examples[c] + ALPHA) / (totalExamples + ALPHA * categoryIds.length));
+            double denominator = Math.log(featureTotals[c] + ALPHA * vocabularySize);
+            for (int feature : features) {
+                // Words no category has seen carry no evidence either way
+                if (vocabulary.get(feature) > 0) {
+                    score += Math.log(counts[c].get(feature) + ALPHA) - denominator;
+                }
+            }
+            scores[c] = score;
+            if (score > scores[best]) {
+                best = c;
+            }
+        }
+
+        double sum = 0;
+        for (double score : scores) {
+            sum += Math.exp(score - scores[best]);
+        }
+        return new Prediction(categoryIds[best], 1 / sum);
+    }
+
+    /**
+     * Drop everything learned about a category, e.g. after it was deleted.
+     */
+    void forget(long categoryId) {
+        int c = indexOf(categoryId);
+        if (c < 0) {
+            return;
+        }
+        totalExamples -= examples[c];
+        int last = categoryIds.length - 1;
+        categoryIds[c] = categoryIds[last];
+        examples[c] = examples[last];
+        featureTotals[c] = featureTotals[last];
+        counts[c] = counts[last];
+        categoryIds = Arrays.copyOf(categoryIds, last);
+        examples = Arrays.copyOf(examples, last);
+        featureTotals = Arrays.copyOf(featureTotals, last);
+        counts = Arrays.copyOf(counts, last);
+        rebuildVocabulary();
+    }
+
+    int categoryCount() {
+        return categoryIds.length;
+    }
+
+    int totalExamples() {
+        return totalExamples;
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(categoryIds.length);
+            for (int c = 0; c < categoryIds.length; c++) {
+                out.writeLong(categoryIds[c]);
+                out.writeInt(examples[c]);
+                out.writeLong(featureTotals[c]);
+                counts[c].write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static CategoryClassifier fromBytes(byte[] data) {
+        CategoryClassifier model = new CategoryClassifier();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported model format " + version);
+            }
+            int categories = in.readInt();
+            // Each category takes at least 24 bytes, so a larger count cannot be genuine
+            if (categories < 0 || categories > data.length / 24) {
+                throw new IllegalArgumentException("Corrupt model data: " + categories + " categories");
+            }
+            model.categoryIds = new long[categories];
+            model.examples = new int[categories];
+            model.featureTotals = new long[categories];
+            model.counts = new FeatureCounts[categories];
+            for (int c = 0; c < categories; c++) {
+                model.categoryIds[c] = in.readLong();
+                model.examples[c] = in.readInt();
+                model.featureTotals[c] = in.readLong();
+                model.counts[c] = FeatureCounts.read(in);
+                model.totalExamples += model.examples[c];
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt model data", e);
+        }
+        model.rebuildVocabulary();
+        return model;
+    }
+
+    /**
+     * Hashed features of a description: each word of two or more letters and
+     * each pair of adjacent words. Digits and punctuation only separate words,
+     * so reference numbers do not become features. Never 0, which the count
+     * maps use for empty slots.
+     */
+    static int[] features(String description) {
+        if (description == null) {
+            return new int[0];
+        }
+        int[] features = new int[8];
+        int size = 0;
+        int previous = 0;
+        int i = 0;
+        while (i < description.length()) {
+            if (!Character.isLetter(description.charAt(i))) {
+                i++;
+                continue;
+            }
+            int hash = 0;
+            int start = i;
+            for (; i < description.length() && Character.isLetter(description.charAt(i)); i++) {
+                hash = 31 * hash + Character.toLowerCase(description.charAt(i));
+            }
+            if (i - start < 2) {
+                continue;
+            }
+            if (size + 2 > features.length) {
+                features = Arrays.copyOf(features, features.length * 2);
+            }
+            features[size++] = mix(hash);
+            if (previous != 0) {
+                features[size++] = mix(31 * previous + hash + 0x5bd1e995);
+            }
+            previous = hash == 0 ? 1 : hash;
+        }
+        return Arrays.copyOf(features, size);
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash != 0 ? hash : 1;
+    }
+
+    private int indexOf(long categoryId) {
+        for (int c = 0; c < categoryIds.length; c++) {
+            if (categoryIds[c] == categoryId) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildVocabulary() {
+        vocabulary = new FeatureCounts();
+        for (FeatureCounts categoryCounts : counts) {
+            for (int slot = 0; slot < categoryCounts.keys.length; slot++) {
+                if (categoryCounts.keys[slot] != 0) {
+                    vocabulary.add(categoryCounts.keys[slot], categoryCounts.values[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from non-zero int keys to int counts, with linear
+     * probing; kept at most half full.
+     */
+    private static final class FeatureCounts {
+
+        private int[] keys = new int[16];
+        private int[] values = new int[16];
+        private int size;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = key & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == 0) {
+                    return 0;
+                }
+            }
+        }
+
+        void add(int key, int delta) {
+            int mask = keys.length - 1;
+            int slot = key & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    values[slot] = delta;
+                    grow();
+                    return;
+                }
+            }
+            values[slot] += delta;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    add(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    out.writeInt(keys[slot]);
+                    out.writeInt(values[slot]);
+                }
+            }
+        }
+
+        static FeatureCounts read(DataInputStream in) throws IOException {
+            FeatureCounts map = new FeatureCounts();
+            int size = in.readInt();
+            if (size < 0) {
+                throw new IllegalArgumentException("Corrupt model data: " + size + " features");
+            }
+            for (int i = 0; i < size; i++) {
+                map.add(in.readInt(), in.readInt());
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.budgetwise.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookup from free-text category names to category ids. Names are normalized
+ * (case, accents, punctuation, "&"/"and", plural "s") before comparison; a
+ * lookup tries an exact match, then a few common bill synonyms, then token
+ * overlap, then a bounded edit distance for typos.
+ */
+final class CategoryNameIndex {
+
+    /** Maximum edits allowed per character of the shorter name for a typo match. */
+    private static final double MAX_EDIT_RATIO = 0.25;
+
+    /** Everyday bill wording mapped to the normalized names of the seeded categories. */
+    private static final Map<String, String> SYNONYMS = Map.ofEntries(
+            Map.entry("housing", "rent"),
+            Map.entry("mortgage", "rent"),
+            Map.entry("electricity", "utility"),
+            Map.entry("electric", "utility"),
+            Map.entry("water", "utility"),
+            Map.entry("gas", "utility"),
+            Map.entry("internet", "utility"),
+            Map.entry("phone", "utility"),
+            Map.entry("mobile", "utility"),
+            Map.entry("loan", "bill emi"),
+            Map.entry("emi", "bill emi"),
+            Map.entry("credit card", "bill emi"),
+            Map.entry("subscription", "entertainment"),
+            Map.entry("streaming", "entertainment"),
+            Map.entry("medical", "healthcare"),
+            Map.entry("health", "healthcare"),
+            Map.entry("tuition", "education"),
+            Map.entry("school", "education"));
+
+    private static final Set<String> STOP_WORDS = Set.of("and", "the", "of", "for");
+
+    private final Map<String, Long> byName = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    private record Entry(String name, Set<String> tokens, Long id) {
+    }
+
+    /**
+     * Add a category. When two categories normalize to the same name the first
+     * one added wins, so callers add the user's own categories before system ones.
+     */
+    void add(String name, Long id) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty() || byName.putIfAbsent(normalized, id) != null) {
+            return;
+        }
+        entries.add(new Entry(normalized, tokens(normalized), id));
+    }
+
+    Long find(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        Long exact = byName.get(normalized);
+        if (exact != null) {
+            return exact;
+        }
+        String synonym = SYNONYMS.get(normalized);
+        if (synonym != null && byName.containsKey(synonym)) {
+            return byName.get(synonym);
+        }
+
+        Set<String> tokens = tokens(normalized);
+        for (String token : tokens) {
+            synonym = SYNONYMS.get(token);
+            if (synonym != null && byName.containsKey(synonym)) {
+                return byName.get(synonym);
+            }
+        }
+
+        Long best = null;
+        double bestScore = 0;
+        for (Entry entry : entries) {
+            double score = overlap(tokens, entry.tokens());
+            if (score > bestScore) {
+                bestScore = score;
+                best = entry.id();
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+
+        int bestDistance = Integer.MAX_VALUE;
+        for (Entry entry : entries) {
+            int allowed = (int) (Math.min(normalized.length(), entry.name().length()) * MAX_EDIT_RATIO);
+            int distance = editDistance(normalized, entry.name(), allowed);
+            if (distance <= allowed && distance < bestDistance) {
+                bestDistance = distance;
+                best = entry.id();
+            }
+        }
+        return best;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase()
+                .replace("&", " and ")
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+
+        StringBuilder out = new StringBuilder(folded.length());
+        for (String word : folded.split(" ")) {
+            word = singular(word);
+            if (word.isEmpty() || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (out.length() > 0) {
+                out.append(' ');
+            }
+            out.append(word);
+        }
+        return out.toString();
+    }
+
+    private static String singular(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static Set<String> tokens(String normalized) {
+        return new HashSet<>(Arrays.asList(normalized.split(" ")));
+    }
+
+    /** Share of the smaller token set found in the other, 0 when nothing is shared. */
+    private static double overlap(Set<String> a, Set<String> b) {
+        int shared = 0;
+        for (String token : a) {
+            if (b.contains(token)) {
+                shared++;
+            }
+        }
+        return shared == 0 ? 0 : (double) shared / Math.min(a.size(), b.size());
+    }
+
+    /**
+     * Levenshtein distance, abandoned as soon as it is certain to exceed
+     * {@code limit} (the result is then {@code limit + 1}).
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -20,12 +20,22 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final com.budgetwise.repository.TransactionRepository transactionRepository;
+    private final BillCategoryResolver billCategoryResolver;
+    private final KeywordCategorizer keywordCategorizer;
+    private final CategorizationModelService categorizationModelService;
+    private final FinancialFactsService financialFactsService;
 
     public CategoryService(CategoryRepository categoryRepository, UserRepository userRepository,
-            com.budgetwise.repository.TransactionRepository transactionRepository) {
+            com.budgetwise.repository.TransactionRepository transactionRepository,
+            BillCategoryResolver billCategoryResolver, KeywordCategorizer keywordCategorizer,
+            CategorizationModelService categorizationModelService, FinancialFactsService financialFactsService) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.billCategoryResolver = billCategoryResolver;
+        this.keywordCategorizer = keywordCategorizer;
+        this.categorizationModelService = categorizationModelService;
+        this.financialFactsService = financialFactsService;
     }
 
     /**
@@ -138,6 +148,8 @@ public class CategoryService {
         category.setUser(user);
 
         Category savedCategory = categoryRepository.save(category);
+        billCategoryResolver.evict(userId);
+        keywordCategorizer.evict(userId);
         return CategoryDto.fromEntity(savedCategory);
     }
 
@@ -172,6 +184,9 @@ public class CategoryService {
         category.setColor(categoryDto.getColor());
 
         Category updatedCategory = categoryRepository.save(category);
+        billCategoryResolver.evict(userId);
+        keywordCategorizer.evict(userId);
+        financialFactsService.invalidate(userId);
         return CategoryDto.fromEntity(updatedCategory);
     }
 
@@ -201,5 +216,9 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        billCategoryResolver.evict(userId);
+        categorizationModelService.forgetCategory(userId, id);
+        keywordCategorizer.evict(userId);
+        financialFactsService.invalidate(userId);
     }
 }
@@ -0,0 +1,142 @@
+package com.budgetwise.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content-addressed store for chart images posted with dashboard/analytics
+ * exports. Images are keyed by the SHA-256 of their base64 payload, so the same
+ * chart exported twice is only decoded once. Decoding streams straight from the
+ * request string without the intermediate split/substring copies.
+ */
+@Service
+@Slf4j
+public class ChartImageStore {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes = 0;
+
+    public ChartImageStore(@Value("${export.chart-cache.max-bytes:33554432}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Resolve a base64 image (optionally a data URI) to its decoded bytes,
+     * decoding at most once per distinct payload.
+     */
+    public byte[] resolve(String base64Image) throws IOException {
+        int start = base64Image.indexOf(',') + 1;
+        String key = hash(base64Image, start);
+
+        synchronized (this) {
+            byte[] cached = images.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] decoded = decode(base64Image, start);
+
+        synchronized (this) {
+            byte[] existing = images.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (decoded.length <= maxBytes) {
+                images.put(key, decoded);
+                currentBytes += decoded.length;
+                evictIfNeeded();
+            }
+        }
+        return decoded;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    private void evictIfNeeded() {
+        var iterator = images.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            currentBytes -= eldest.getValue().length;
+            iterator.remove();
+        }
+    }
+
+    private String hash(String source, int start) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[CHUNK_SIZE];
+            int length = source.length();
+            for (int offset = start; offset < length; offset += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, length - offset);
+                for (int i = 0; i < count; i++) {
+                    buffer[i] = (byte) source.charAt(offset + i);
+                }
+                digest.update(buffer, 0, count);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private byte[] decode(String source, int start) throws IOException {
+        int encodedLength = source.length() - start;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, encodedLength / 4 * 3));
+        try (InputStream in = Base64.getDecoder().wrap(new CharSequenceInputStream(source, start))) {
+            in.transferTo(out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the ASCII characters of a string as bytes without copying it.
+     */
+    private static final class CharSequenceInputStream extends InputStream {
+
+        private final CharSequence source;
+        private int position;
+
+        CharSequenceInputStream(CharSequence source, int start) {
+            this.source = source;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? (source.charAt(position++) & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= source.length()) {
+                return -1;
+            }
+            int count = Math.min(length, source.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+    }
+}
@@ -1,90 +1,227 @@
 package com.budgetwise.service;
 
 import com.budgetwise.dto.ChatResponseDto;
-import com.budgetwise.entity.Transaction;
-import com.budgetwise.entity.UserProfile;
-import com.budgetwise.repository.BudgetRepository;
-import com.budgetwise.repository.SavingsGoalRepository;
-import com.budgetwise.repository.TransactionRepository;
-import com.budgetwise.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ChatAssistantService {
 
-    private final TransactionRepository transactionRepository;
-    private final BudgetRepository budgetRepository;
-    private final SavingsGoalRepository savingsGoalRepository;
-    private final UserProfileRepository userProfileRepository;
+    private final FinancialFactsService financialFactsService;
+    private final OpenAIService openAIService;
+    private final Executor aiExecutor;
 
-    public ChatResponseDto chat(String message, String conversationId, Long userId) {
-        // Generate conversation ID if not provided
-        if (conversationId == null || conversationId.isEmpty()) {
-            conversationId = UUID.randomUUID().toString();
-        }
+    @Value("${chat.ai.enabled:false}")
+    private boolean aiEnabled;
 
-        // Get user's financial context
-        String context = buildFinancialContext(userId);
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
 
-        // Generate response based on message
-        String response = generateResponse(message.toLowerCase(), userId, context);
+    /**
+     * Answer a chat message from the user's {@link FinancialFacts}. The facts
+     * lookup runs on the AI executor and, for questions no rule covers, the AI
+     * provider is called asynchronously when enabled, so no request thread
+     * waits for the answer.
+     */
+    public CompletableFuture<ChatResponseDto> chat(String message, String conversationId, Long userId) {
+        // Generate conversation ID if not provided
+        String id = conversationId == null || conversationId.isEmpty()
+                ? UUID.randomUUID().toString()
+                : conversationId;
 
-        return ChatResponseDto.builder()
-                .response(response)
-                .conversationId(conversationId)
-                .context(context)
-                .build();
+        return CompletableFuture.supplyAsync(() -> {
+                    // Get user's financial context and a rule-based response
+                    FinancialFacts facts = financialFactsService.get(userId);
+                    return new Draft(buildFinancialContext(facts), generateResponse(message.toLowerCase(), facts));
+                }, aiExecutor)
+                .thenCompose(draft -> {
+                    CompletableFuture<String> answer;
+                    if (draft.response() != null) {
+                        answer = CompletableFuture.completedFuture(draft.response());
+                    } else if (aiEnabled) {
+                        answer = openAIService.adviseAsync(draft.context(), message)
+                                .exceptionally(e -> defaultResponse(draft.context()));
+                    } else {
+                        answer = CompletableFuture.completedFuture(defaultResponse(draft.context()));
+                    }
+                    return answer.thenApply(text -> ChatResponseDto.builder()
+                            .response(text)
+                            .conversationId(id)
+                            .context(draft.context())
+                            .build());
+                });
     }
 
-    private String buildFinancialContext(Long userId) {
-        StringBuilder context = new StringBuilder();
+    /**
+     * Answer a chat message as a stream of server-sent events: {@code start}
+     * with the conversation id straight away, {@code chunk} events with the
+     * answer's text as it is produced, then {@code done} with the full
+     * response, or {@code error} if no answer can be given, including when the
+     * provider fails part-way through an answer. Events are written on a
+     * virtual thread that blocks while the client is slow to read, and so
+     * stops reading from the AI provider until the client catches up. When the
+     * client disconnects or the stream times out, the provider call is
+     * cancelled.
+     */
+    public SseEmitter streamChat(String message, String conversationId, Long userId) {
+        String id = conversationId == null || conversationId.isEmpty()
+                ? UUID.randomUUID().toString()
+                : conversationId;
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicReference<Call> call = new AtomicReference<>();
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable cancel = () -> {
+            closed.set(true);
+            Call pending = call.get();
+            if (pending != null) {
+                pending.cancel();
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+
+        aiExecutor.execute(() -> {
+            try {
+                send(emitter, "start", Map.of("conversationId", id));
+                FinancialFacts facts = financialFactsService.get(userId);
+                String context = buildFinancialContext(facts);
+                String response = generateResponse(message.toLowerCase(), facts);
 
-        // Get current month transactions
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
+                if (response == null && aiEnabled && !closed.get()) {
+                    call.set(openAIService.adviceStream(context, message));
+                    if (closed.get()) {
+                        call.get().cancel();
+                    }
+                    AtomicBoolean streamed = new AtomicBoolean();
+                    try {
+                        response = openAIService.readStream(call.get(), chunk -> {
+                            streamed.set(true);
+                            send(emitter, "chunk", Map.of("text", chunk));
+                        });
+                    } catch (IOException e) {
+                        if (closed.get()) {
+                            return;
+                        }
+                        log.warn("Streamed chat answer failed: {}", e.getMessage());
+                        if (streamed.get()) {
+                            // Part of the answer is already out; a canned reply would be appended to it
+                            sendError(emitter, cancel);
+                            return;
+                        }
+                        response = "";
+                    }
+                    if (closed.get()) {
+                        return;
+                    }
+                    if (response.isEmpty()) {
+                        response = defaultResponse(context);
+                        send(emitter, "chunk", Map.of("text", response));
+                    }
+                } else {
+                    if (response == null) {
+                        response = defaultResponse(context);
+                    }
+                    send(emitter, "chunk", Map.of("text", response));
+                }
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                userId, startOfMonth, endOfMonth);
+                send(emitter, "done", ChatResponseDto.builder()
+                        .response(response)
+                        .conversationId(id)
+                        .context(context)
+                        .build());
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                // The client went away; onError/onCompletion cancel the provider call
+                cancel.run();
+            } catch (RuntimeException e) {
+                if (closed.get()) {
+                    return;
+                }
+                log.error("Streamed chat failed", e);
+                sendError(emitter, cancel);
+            }
+        });
+        return emitter;
+    }
 
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static void sendError(SseEmitter emitter, Runnable cancel) {
+        try {
+            send(emitter, "error", Map.of("message", "Could not answer right now, please try again"));
+            emitter.complete();
+        } catch (UncheckedIOException | IllegalStateException ignored) {
+            cancel.run();
+        }
+    }
 
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        int budgetCount = budgetRepository.countByUserId(userId);
-        int goalCount = savingsGoalRepository.countByUserId(userId);
+    private record Draft(String context, String response) {
+    }
 
-        context.append(String.format("Current month: Income $%.2f, Expenses $%.2f, ", 
-                totalIncome, totalExpenses));
-        context.append(String.format("Balance $%.2f. ", totalIncome.subtract(totalExpenses)));
-        context.append(String.format("You have %d budgets and %d savings goals.", budgetCount, goalCount));
+    private String buildFinancialContext(FinancialFacts facts) {
+        StringBuilder context = new StringBuilder();
+        context.append(String.format("Current month: Income $%.2f, Expenses $%.2f, ",
+                facts.monthIncome(), facts.monthExpenses()));
+        context.append(String.format("Balance $%.2f. ", facts.balance()));
+
+        List<FinancialFacts.CategoryTotal> top = facts.topCategories(3);
+        if (!top.isEmpty()) {
+            context.append("Top spending: ");
+            for (int i = 0; i < top.size(); i++) {
+                context.append(i > 0 ? ", " : "")
+                        .append(String.format("%s $%.2f", top.get(i).name(), top.get(i).amount()));
+            }
+            context.append(". ");
+        }
+        for (FinancialFacts.BudgetStatus budget : facts.activeBudgets()) {
+            if (budget.percentUsed() >= 100) {
+                context.append(String.format("Over budget on %s (%.0f%% used). ",
+                        budget.categoryName(), budget.percentUsed()));
+            }
+        }
+        context.append(String.format("You have %d budgets and %d savings goals.",
+                facts.budgetCount(), facts.goalCount()));
 
         return context.toString();
     }
 
-    private String generateResponse(String message, Long userId, String context) {
-        // Simple rule-based responses (in production, integrate with OpenAI API)
-        
+    /**
+     * Rule-based response, or null if no rule covers the message
+     */
+    private String generateResponse(String message, FinancialFacts facts) {
         if (message.contains("spending") || message.contains("expense")) {
-            return generateSpendingResponse(userId);
+            return generateSpendingResponse(facts);
         } else if (message.contains("saving") || message.contains("save")) {
-            return generateSavingsResponse(userId);
+            return generateSavingsResponse(facts);
         } else if (message.contains("budget")) {
-            return generateBudgetResponse(userId);
+            return generateBudgetResponse(facts);
         } else if (message.contains("goal")) {
-            return generateGoalResponse(userId);
+            return generateGoalResponse(facts);
         } else if (message.contains("help") || message.contains("what can you do")) {
             return "I can help you with:\n" +
                     "• Analyzing your spending patterns\n" +
@@ -93,74 +230,80 @@ public class ChatAssistantService {
                     "• Providing financial advice\n" +
                     "• Detecting unusual transactions\n\n" +
                     "Try asking: 'How is my spending?' or 'Am I saving enough?'";
-        } else {
-            return "I'm your financial assistant! " + context + "\n\n" +
-                    "Ask me about your spending, savings, budgets, or goals. " +
-                    "For example: 'How much did I spend this month?' or 'Am I on track with my savings?'";
         }
+        return null;
     }
 
-    private String generateSpendingResponse(Long userId) {
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(
-                userId, startOfMonth, endOfMonth);
-
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private String defaultResponse(String context) {
+        return "I'm your financial assistant! " + context + "\n\n" +
+                "Ask me about your spending, savings, budgets, or goals. " +
+                "For example: 'How much did I spend this month?' or 'Am I on track with my savings?'";
+    }
 
-        if (totalExpenses.compareTo(BigDecimal.ZERO) == 0) {
+    private String generateSpendingResponse(FinancialFacts facts) {
+        if (facts.monthExpenses().compareTo(BigDecimal.ZERO) == 0) {
             return "You haven't recorded any expenses this month yet. Start tracking your spending to get insights!";
         }
 
-        return String.format("This month, you've spent $%.2f across %d transactions. " +
-                "Would you like me to break this down by category?",
-                totalExpenses, transactions.size());
+        StringBuilder response = new StringBuilder(String.format(
+                "This month, you've spent $%.2f across %d transactions.",
+                facts.monthExpenses(), facts.transactionCount()));
+        List<FinancialFacts.CategoryTotal> top = facts.topCategories(3);
+        if (!top.isEmpty()) {
+            response.append(" Your biggest categories are ");
+            for (int i = 0; i < top.size(); i++) {
+                response.append(i == 0 ? "" : i == top.size() - 1 ? " and " : ", ")
+                        .append(String.format("%s ($%.2f)", top.get(i).name(), top.get(i).amount()));
+            }
+            response.append('.');
+        }
+        return response.toString();
     }
 
-    private String generateSavingsResponse(Long userId) {
-        UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
-        int goalCount = savingsGoalRepository.countByUserId(userId);
-
-        if (goalCount == 0) {
+    private String generateSavingsResponse(FinancialFacts facts) {
+        if (facts.goalCount() == 0) {
             return "You don't have any savings goals set up yet. " +
                     "Setting goals can help you stay motivated! Would you like to create one?";
         }
 
         return String.format("You have %d active savings goals. " +
                 "Keep up the good work! Regular contributions, even small ones, add up over time.",
-                goalCount);
+                facts.goalCount());
     }
 
-    private String generateBudgetResponse(Long userId) {
-        int budgetCount = budgetRepository.countByUserId(userId);
-
-        if (budgetCount == 0) {
+    private String generateBudgetResponse(FinancialFacts facts) {
+        if (facts.budgetCount() == 0) {
             return "You haven't set up any budgets yet. " +
                     "Budgets help you control spending and reach your financial goals. " +
                     "Would you like help creating one?";
         }
+        if (facts.activeBudgets().isEmpty()) {
+            return String.format("You have %d budgets, but none of them covers the current period. " +
+                    "Set up a budget for this month to keep tracking your spending.",
+                    facts.budgetCount());
+        }
 
-        return String.format("You have %d active budgets. " +
+        long over = facts.activeBudgets().stream().filter(budget -> budget.percentUsed() >= 100).count();
+        return String.format("You have %d active budgets%s. " +
                 "Budgets are a great way to stay on track. " +
                 "Check your dashboard to see how you're doing!",
-                budgetCount);
+                facts.activeBudgets().size(),
+                over > 0 ? String.format(", %d of them over the limit", over) : "");
     }
 
-    private String generateGoalResponse(Long userId) {
-        int goalCount = savingsGoalRepository.countByUserId(userId);
-
-        if (goalCount == 0) {
+    private String generateGoalResponse(FinancialFacts facts) {
+        if (facts.goalCount() == 0) {
             return "You don't have any savings goals yet. " +
                     "Setting specific goals makes saving easier and more rewarding. " +
                     "What would you like to save for?";
         }
 
-        return String.format("You have %d savings goals. " +
+        FinancialFacts.GoalProgress closest = facts.activeGoals().stream()
+                .max(Comparator.comparingDouble(FinancialFacts.GoalProgress::percentComplete))
+                .orElse(null);
+        return String.format("You have %d savings goals. %s" +
                 "Stay focused and consistent - you're building a better financial future!",
-                goalCount);
+                facts.goalCount(),
+                closest != null ? String.format("%s is %.0f%% of the way there. ", closest.name(), closest.percentComplete()) : "");
     }
 }
@@ -0,0 +1,152 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.DashboardUpdateDto;
+import com.budgetwise.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects dashboard changes per user and pushes them as one delta message
+ * once the user has been quiet for a short window, instead of one "refresh"
+ * per write. Changes are only queued after their database transaction commits.
+ */
+@Service
+@Slf4j
+public class DashboardPushCoalescer {
+
+    private final WebSocketService webSocketService;
+    private final TaskScheduler dashboardPushScheduler;
+    private final Duration debounce;
+    private final Duration maxDelay;
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Timer sendLatency;
+    private final Counter coalescedChanges;
+
+    private static final class PendingUpdate {
+        final Instant firstChangeAt = Instant.now();
+        final LocalDateTime since = LocalDateTime.now();
+        volatile Instant lastChangeAt = firstChangeAt;
+        BigDecimal incomeChange = BigDecimal.ZERO;
+        BigDecimal expenseChange = BigDecimal.ZERO;
+        final Map<Long, BigDecimal> categoryChanges = new HashMap<>();
+        int changeCount;
+    }
+
+    public DashboardPushCoalescer(WebSocketService webSocketService,
+                                  TaskScheduler dashboardPushScheduler,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${dashboard.push.debounce-ms:500}") long debounceMs,
+                                  @Value("${dashboard.push.max-delay-ms:3000}") long maxDelayMs) {
+        this.webSocketService = webSocketService;
+        this.dashboardPushScheduler = dashboardPushScheduler;
+        this.debounce = Duration.ofMillis(debounceMs);
+        this.maxDelay = Duration.ofMillis(maxDelayMs);
+        this.sendLatency = Timer.builder("budgetwise.dashboard.push.latency")
+                .description("Time from the first coalesced change to the push being sent")
+                .register(meterRegistry);
+        this.coalescedChanges = Counter.builder("budgetwise.dashboard.push.changes")
+                .description("Dashboard changes folded into pushes")
+                .register(meterRegistry);
+        Gauge.builder("budgetwise.dashboard.push.pending", pending, Map::size)
+                .description("Users with a dashboard push waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a signed change to the user's totals. Pass a negative amount for a
+     * removed or replaced transaction.
+     */
+    public void recordChange(Long userId, Transaction.TransactionType type, Long categoryId, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(userId, type, categoryId, amount);
+                }
+            });
+        } else {
+            enqueue(userId, type, categoryId, amount);
+        }
+    }
+
+    private void enqueue(Long userId, Transaction.TransactionType type, Long categoryId, BigDecimal amount) {
+        boolean[] created = new boolean[1];
+        pending.compute(userId, (id, update) -> {
+            if (update == null) {
+                update = new PendingUpdate();
+                created[0] = true;
+            }
+            if (type == Transaction.TransactionType.INCOME) {
+                update.incomeChange = update.incomeChange.add(amount);
+            } else {
+                update.expenseChange = update.expenseChange.add(amount);
+            }
+            if (categoryId != null) {
+                update.categoryChanges.merge(categoryId, amount, BigDecimal::add);
+            }
+            update.changeCount++;
+            update.lastChangeAt = Instant.now();
+            return update;
+        });
+        coalescedChanges.increment();
+
+        if (created[0]) {
+            dashboardPushScheduler.schedule(() -> flush(userId), Instant.now().plus(debounce));
+        }
+    }
+
+    /**
+     * Send the user's pending delta if the debounce window has passed, or
+     * check again later. A user who keeps writing still gets a push every
+     * {@code maxDelay}.
+     */
+    private void flush(Long userId) {
+        PendingUpdate update = pending.get(userId);
+        if (update == null) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant quietAt = update.lastChangeAt.plus(debounce);
+        Instant deadline = update.firstChangeAt.plus(maxDelay);
+        if (now.isBefore(quietAt) && now.isBefore(deadline)) {
+            dashboardPushScheduler.schedule(() -> flush(userId),
+                    quietAt.isBefore(deadline) ? quietAt : deadline);
+            return;
+        }
+
+        // Once removed, later changes start a new entry, so this one is complete
+        if (!pending.remove(userId, update)) {
+            return;
+        }
+        DashboardUpdateDto dto = DashboardUpdateDto.builder()
+                .incomeChange(update.incomeChange)
+                .expenseChange(update.expenseChange)
+                .categoryChanges(update.categoryChanges)
+                .changeCount(update.changeCount)
+                .since(update.since)
+                .build();
+        try {
+            webSocketService.sendDashboardDelta(userId, dto);
+        } catch (RuntimeException e) {
+            log.warn("Could not push dashboard update to user {}", userId, e);
+        }
+        sendLatency.record(Duration.between(update.firstChangeAt, Instant.now()));
+    }
+}
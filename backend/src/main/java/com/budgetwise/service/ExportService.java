@@ -21,9 +21,12 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
@@ -35,6 +38,8 @@ public class ExportService {
     private final SavingsGoalRepository savingsGoalRepository;
     private final CategoryRepository categoryRepository;
     private final PredictionService predictionService;
+    private final ChartImageStore chartImageStore;
+    private final Executor exportExecutor;
 
     // ========== CSV EXPORTS ==========
 
@@ -243,65 +248,41 @@ public class ExportService {
     // ========== DASHBOARD EXPORTS ==========
 
     public byte[] exportDashboardExcel(Long userId) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-
-            // Sheet 1: Summary
-            Sheet summarySheet = workbook.createSheet("Summary");
-            createDashboardSummarySheet(summarySheet, userId, headerStyle);
-
-            // Sheet 2: Monthly Trends
-            Sheet trendsSheet = workbook.createSheet("Monthly Trends");
-            createMonthlyTrendsSheet(trendsSheet, userId, headerStyle);
-
-            // Sheet 3: Category Breakdown
-            Sheet categorySheet = workbook.createSheet("Category Breakdown");
-            createCategoryBreakdownSheet(categorySheet, transactionRepository.findByUserIdOrderByCreatedAtDesc(userId),
-                    userId, headerStyle);
-
-            // Sheet 4: Budgets
-            Sheet budgetsSheet = workbook.createSheet("Budgets");
-            createBudgetsSheet(budgetsSheet, userId);
-
-            // Sheet 5: Savings Goals
-            Sheet goalsSheet = workbook.createSheet("Savings Goals");
-            createGoalsSheet(goalsSheet, userId);
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-        }
+        return exportDashboardExcel(userId, null);
     }
 
     public byte[] exportDashboardExcel(Long userId, Map<String, String> images) throws IOException {
+        DashboardData data = loadDashboardData(userId);
+
         try (Workbook workbook = new XSSFWorkbook()) {
             CellStyle headerStyle = workbook.createCellStyle();
             Font headerFont = workbook.createFont();
             headerFont.setBold(true);
             headerStyle.setFont(headerFont);
 
+            // Sheet 1: Summary
             Sheet summarySheet = workbook.createSheet("Summary");
-            createDashboardSummarySheet(summarySheet, userId, headerStyle);
+            createDashboardSummarySheet(summarySheet, data.transactions(), headerStyle);
 
             if (images != null && !images.isEmpty()) {
                 embedImagesInExcel(workbook, summarySheet, images, 10);
             }
 
+            // Sheet 2: Monthly Trends
             Sheet trendsSheet = workbook.createSheet("Monthly Trends");
-            createMonthlyTrendsSheet(trendsSheet, userId, headerStyle);
+            createMonthlyTrendsSheet(trendsSheet, data.recentTransactions(), headerStyle);
 
+            // Sheet 3: Category Breakdown
             Sheet categorySheet = workbook.createSheet("Category Breakdown");
-            createCategoryBreakdownSheet(categorySheet, transactionRepository.findByUserIdOrderByCreatedAtDesc(userId),
-                    userId, headerStyle);
+            createCategoryBreakdownSheet(categorySheet, data.transactions(), data.categoryNames(), headerStyle);
 
+            // Sheet 4: Budgets
             Sheet budgetsSheet = workbook.createSheet("Budgets");
-            createBudgetsSheet(budgetsSheet, userId);
+            createBudgetsSheet(budgetsSheet, data.budgets());
 
+            // Sheet 5: Savings Goals
             Sheet goalsSheet = workbook.createSheet("Savings Goals");
-            createGoalsSheet(goalsSheet, userId);
+            createGoalsSheet(goalsSheet, data.goals());
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
@@ -310,27 +291,12 @@ public class ExportService {
     }
 
     public byte[] exportDashboardPDF(Long userId) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(outputStream);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-
-        document.add(new Paragraph("Dashboard Report").setBold().setFontSize(20));
-        document.add(new Paragraph("Generated on: " + LocalDate.now()));
-        document.add(new Paragraph(" "));
-
-        addDashboardSummaryPDFSection(document, userId);
-        addMonthlyTrendsPDFSection(document, userId);
-        addCategoryBreakdownPDFSection(document, transactionRepository.findByUserIdOrderByCreatedAtDesc(userId),
-                userId);
-        addBudgetsPDFSection(document, userId);
-        addGoalsPDFSection(document, userId);
-
-        document.close();
-        return outputStream.toByteArray();
+        return exportDashboardPDF(userId, null);
     }
 
     public byte[] exportDashboardPDF(Long userId, Map<String, String> images) {
+        DashboardData data = loadDashboardData(userId);
+
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         PdfWriter writer = new PdfWriter(outputStream);
         PdfDocument pdf = new PdfDocument(writer);
@@ -340,22 +306,63 @@ public class ExportService {
         document.add(new Paragraph("Generated on: " + LocalDate.now()));
         document.add(new Paragraph(" "));
 
-        addDashboardSummaryPDFSection(document, userId);
+        addDashboardSummaryPDFSection(document, data.transactions());
 
         if (images != null && !images.isEmpty()) {
             embedImagesInPDF(document, images);
         }
 
-        addMonthlyTrendsPDFSection(document, userId);
-        addCategoryBreakdownPDFSection(document, transactionRepository.findByUserIdOrderByCreatedAtDesc(userId),
-                userId);
-        addBudgetsPDFSection(document, userId);
-        addGoalsPDFSection(document, userId);
+        addMonthlyTrendsPDFSection(document, data.recentTransactions());
+        addCategoryBreakdownPDFSection(document, data.transactions(), data.categoryNames());
+        addBudgetsPDFSection(document, data.budgets());
+        addGoalsPDFSection(document, data.goals());
 
         document.close();
         return outputStream.toByteArray();
     }
 
+    /**
+     * Gather everything the dashboard export needs in parallel. Transactions are
+     * read once and shared by the summary, trends and category sections.
+     */
+    private DashboardData loadDashboardData(Long userId) {
+        CompletableFuture<List<Transaction>> transactions = CompletableFuture.supplyAsync(
+                () -> transactionRepository.findByUserIdOrderByCreatedAtDesc(userId), exportExecutor);
+        CompletableFuture<Map<Long, String>> categoryNames = CompletableFuture.supplyAsync(
+                () -> loadCategoryNames(userId), exportExecutor);
+        CompletableFuture<List<Budget>> budgets = CompletableFuture.supplyAsync(
+                () -> budgetRepository.findByUserId(userId), exportExecutor);
+        CompletableFuture<List<SavingsGoal>> goals = CompletableFuture.supplyAsync(
+                () -> savingsGoalRepository.findByUserId(userId), exportExecutor);
+
+        try {
+            CompletableFuture.allOf(transactions, categoryNames, budgets, goals).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+
+        LocalDate trendsStart = LocalDate.now().minusMonths(6);
+        List<Transaction> recent = transactions.join().stream()
+                .filter(t -> !t.getTransactionDate().isBefore(trendsStart)
+                        && !t.getTransactionDate().isAfter(LocalDate.now()))
+                .collect(Collectors.toList());
+
+        return new DashboardData(transactions.join(), recent, categoryNames.join(), budgets.join(), goals.join());
+    }
+
+    private Map<Long, String> loadCategoryNames(Long userId) {
+        return categoryRepository.findAllByUserIdIncludingSystem(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+
+    private record DashboardData(
+            List<Transaction> transactions,
+            List<Transaction> recentTransactions,
+            Map<Long, String> categoryNames,
+            List<Budget> budgets,
+            List<SavingsGoal> goals) {
+    }
+
     // ========== ANALYTICS EXPORTS ==========
 
     public byte[] exportAnalyticsExcel(Long userId, String timeRange) throws IOException {
@@ -374,7 +381,7 @@ public class ExportService {
             createAnalyticsSummarySheet(summarySheet, transactions, timeRange, headerStyle);
 
             Sheet categorySheet = workbook.createSheet("Category Breakdown");
-            createCategoryBreakdownSheet(categorySheet, transactions, userId, headerStyle);
+            createCategoryBreakdownSheet(categorySheet, transactions, loadCategoryNames(userId), headerStyle);
 
             Sheet predictionsSheet = workbook.createSheet("AI Predictions");
             createPredictionsSheet(predictionsSheet, userId, headerStyle);
@@ -405,7 +412,7 @@ public class ExportService {
             }
 
             Sheet categorySheet = workbook.createSheet("Category Breakdown");
-            createCategoryBreakdownSheet(categorySheet, transactions, userId, headerStyle);
+            createCategoryBreakdownSheet(categorySheet, transactions, loadCategoryNames(userId), headerStyle);
 
             Sheet predictionsSheet = workbook.createSheet("AI Predictions");
             createPredictionsSheet(predictionsSheet, userId, headerStyle);
@@ -433,7 +440,7 @@ public class ExportService {
 
         addAnalyticsSummaryPDFSection(document, transactions);
         addTrendAnalysisPDFSection(document, transactions);
-        addCategoryBreakdownPDFSection(document, transactions, userId);
+        addCategoryBreakdownPDFSection(document, transactions, loadCategoryNames(userId));
         addPredictionsPDFSection(document, userId);
 
         document.close();
@@ -462,7 +469,7 @@ public class ExportService {
         }
 
         addTrendAnalysisPDFSection(document, transactions);
-        addCategoryBreakdownPDFSection(document, transactions, userId);
+        addCategoryBreakdownPDFSection(document, transactions, loadCategoryNames(userId));
         addPredictionsPDFSection(document, userId);
 
         document.close();
@@ -471,9 +478,7 @@ public class ExportService {
 
     // ========== DASHBOARD HELPER METHODS ==========
 
-    private void createDashboardSummarySheet(Sheet sheet, Long userId, CellStyle headerStyle) {
-        List<Transaction> allTransactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
+    private void createDashboardSummarySheet(Sheet sheet, List<Transaction> allTransactions, CellStyle headerStyle) {
         java.math.BigDecimal totalIncome = allTransactions.stream()
                 .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
                 .map(Transaction::getAmount)
@@ -502,13 +507,7 @@ public class ExportService {
         sheet.autoSizeColumn(1);
     }
 
-    private void createMonthlyTrendsSheet(Sheet sheet, Long userId, CellStyle headerStyle) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(6);
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate,
-                endDate);
-
+    private void createMonthlyTrendsSheet(Sheet sheet, List<Transaction> transactions, CellStyle headerStyle) {
         Row headerRow = sheet.createRow(0);
         String[] headers = { "Month", "Income", "Expenses", "Net Savings" };
         for (int i = 0; i < headers.length; i++) {
@@ -548,9 +547,7 @@ public class ExportService {
         }
     }
 
-    private void createBudgetsSheet(Sheet sheet, Long userId) {
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-
+    private void createBudgetsSheet(Sheet sheet, List<Budget> budgets) {
         Row headerRow = sheet.createRow(0);
         String[] headers = { "ID", "Category ID", "Amount", "Period", "Spent", "Remaining" };
         for (int i = 0; i < headers.length; i++) {
@@ -573,9 +570,7 @@ public class ExportService {
         }
     }
 
-    private void createGoalsSheet(Sheet sheet, Long userId) {
-        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
-
+    private void createGoalsSheet(Sheet sheet, List<SavingsGoal> goals) {
         Row headerRow = sheet.createRow(0);
         String[] headers = { "ID", "Name", "Target", "Current", "Progress %", "Deadline", "Status" };
         for (int i = 0; i < headers.length; i++) {
@@ -604,10 +599,9 @@ public class ExportService {
         }
     }
 
-    private void addDashboardSummaryPDFSection(Document document, Long userId) {
+    private void addDashboardSummaryPDFSection(Document document, List<Transaction> allTransactions) {
         document.add(new Paragraph("Summary").setBold().setFontSize(14));
 
-        List<Transaction> allTransactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
         java.math.BigDecimal totalIncome = allTransactions.stream()
                 .filter(t -> Transaction.TransactionType.INCOME.equals(t.getType()))
                 .map(Transaction::getAmount)
@@ -636,15 +630,9 @@ public class ExportService {
         document.add(new Paragraph(" "));
     }
 
-    private void addMonthlyTrendsPDFSection(Document document, Long userId) {
+    private void addMonthlyTrendsPDFSection(Document document, List<Transaction> transactions) {
         document.add(new Paragraph("Monthly Trends (Last 6 Months)").setBold().setFontSize(14));
 
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(6);
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate,
-                endDate);
-
         Table table = new Table(4);
         // table width set to default
 
@@ -680,11 +668,9 @@ public class ExportService {
         document.add(new Paragraph(" "));
     }
 
-    private void addBudgetsPDFSection(Document document, Long userId) {
+    private void addBudgetsPDFSection(Document document, List<Budget> budgets) {
         document.add(new Paragraph("Budgets").setBold().setFontSize(14));
 
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-
         Table table = new Table(5);
         // table width set to default
 
@@ -704,11 +690,9 @@ public class ExportService {
         document.add(new Paragraph(" "));
     }
 
-    private void addGoalsPDFSection(Document document, Long userId) {
+    private void addGoalsPDFSection(Document document, List<SavingsGoal> goals) {
         document.add(new Paragraph("Savings Goals").setBold().setFontSize(14));
 
-        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
-
         Table table = new Table(5);
         // table width set to default
 
@@ -775,12 +759,8 @@ public class ExportService {
         sheet.autoSizeColumn(1);
     }
 
-    private void createCategoryBreakdownSheet(Sheet sheet, List<Transaction> transactions, Long userId,
-            CellStyle headerStyle) {
-        List<Category> categories = categoryRepository.findAllByUserIdIncludingSystem(userId);
-        java.util.Map<Long, String> categoryMap = categories.stream()
-                .collect(java.util.stream.Collectors.toMap(Category::getId, Category::getName));
-
+    private void createCategoryBreakdownSheet(Sheet sheet, List<Transaction> transactions,
+            Map<Long, String> categoryMap, CellStyle headerStyle) {
         java.util.Map<String, java.math.BigDecimal> categoryTotals = new java.util.HashMap<>();
         java.math.BigDecimal totalExpenses = java.math.BigDecimal.ZERO;
 
@@ -933,13 +913,10 @@ public class ExportService {
         document.add(new Paragraph(" "));
     }
 
-    private void addCategoryBreakdownPDFSection(Document document, List<Transaction> transactions, Long userId) {
+    private void addCategoryBreakdownPDFSection(Document document, List<Transaction> transactions,
+            Map<Long, String> categoryMap) {
         document.add(new Paragraph("Category Breakdown").setBold().setFontSize(14));
 
-        List<Category> categories = categoryRepository.findAllByUserIdIncludingSystem(userId);
-        java.util.Map<Long, String> categoryMap = categories.stream()
-                .collect(java.util.stream.Collectors.toMap(Category::getId, Category::getName));
-
         java.util.Map<String, java.math.BigDecimal> categoryTotals = new java.util.HashMap<>();
         java.math.BigDecimal totalExpenses = java.math.BigDecimal.ZERO;
 
@@ -1010,7 +987,7 @@ public class ExportService {
     public byte[] exportBudgetsExcel(Long userId) throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Budgets");
-            createBudgetsSheet(sheet, userId);
+            createBudgetsSheet(sheet, budgetRepository.findByUserId(userId));
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
@@ -1028,7 +1005,7 @@ public class ExportService {
         document.add(new Paragraph("Generated on: " + LocalDate.now()));
         document.add(new Paragraph(" "));
 
-        addBudgetsPDFSection(document, userId);
+        addBudgetsPDFSection(document, budgetRepository.findByUserId(userId));
 
         document.close();
         return outputStream.toByteArray();
@@ -1039,7 +1016,7 @@ public class ExportService {
     public byte[] exportGoalsExcel(Long userId) throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Savings Goals");
-            createGoalsSheet(sheet, userId);
+            createGoalsSheet(sheet, savingsGoalRepository.findByUserId(userId));
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
@@ -1057,7 +1034,7 @@ public class ExportService {
         document.add(new Paragraph("Generated on: " + LocalDate.now()));
         document.add(new Paragraph(" "));
 
-        addGoalsPDFSection(document, userId);
+        addGoalsPDFSection(document, savingsGoalRepository.findByUserId(userId));
 
         document.close();
         return outputStream.toByteArray();
@@ -1084,11 +1061,7 @@ public class ExportService {
     private void embedImagesInPDF(Document document, Map<String, String> images) {
         for (Map.Entry<String, String> entry : images.entrySet()) {
             try {
-                String base64Image = entry.getValue();
-                if (base64Image.contains(",")) {
-                    base64Image = base64Image.split(",")[1];
-                }
-                byte[] imageBytes = Base64.getDecoder().decode(base64Image);
+                byte[] imageBytes = chartImageStore.resolve(entry.getValue());
                 Image img = new Image(ImageDataFactory.create(imageBytes));
                 img.setAutoScale(true);
                 document.add(new Paragraph(entry.getKey()).setBold());
@@ -1106,11 +1079,7 @@ public class ExportService {
 
         for (Map.Entry<String, String> entry : images.entrySet()) {
             try {
-                String base64Image = entry.getValue();
-                if (base64Image.contains(",")) {
-                    base64Image = base64Image.split(",")[1];
-                }
-                byte[] imageBytes = Base64.getDecoder().decode(base64Image);
+                byte[] imageBytes = chartImageStore.resolve(entry.getValue());
                 int pictureIdx = workbook.addPicture(imageBytes, Workbook.PICTURE_TYPE_PNG);
 
                 ClientAnchor anchor = workbook.getCreationHelper().createClientAnchor();
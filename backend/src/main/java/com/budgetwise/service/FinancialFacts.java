@@ -0,0 +1,47 @@
+package com.budgetwise.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * A user's financial position for the current month, as computed by
+ * {@link FinancialFactsService}.
+ *
+ * @param transactionCount      income and expense transactions this month
+ * @param expensesByCategory    this month's expenses per category, largest first
+ * @param profileMonthlyIncome  monthly income from the user's profile, null if not set
+ * @param activeBudgets         budgets whose period includes today
+ */
+public record FinancialFacts(
+        YearMonth month,
+        BigDecimal monthIncome,
+        BigDecimal monthExpenses,
+        int transactionCount,
+        List<CategoryTotal> expensesByCategory,
+        BigDecimal profileMonthlyIncome,
+        int budgetCount,
+        List<BudgetStatus> activeBudgets,
+        int goalCount,
+        List<GoalProgress> activeGoals) {
+
+    public record CategoryTotal(Long categoryId, String name, BigDecimal amount) {
+    }
+
+    public record BudgetStatus(Long budgetId, String categoryName, BigDecimal limit, BigDecimal spent,
+                               double percentUsed) {
+    }
+
+    public record GoalProgress(Long goalId, String name, BigDecimal target, BigDecimal saved,
+                               double percentComplete, LocalDate deadline) {
+    }
+
+    public BigDecimal balance() {
+        return monthIncome.subtract(monthExpenses);
+    }
+
+    public List<CategoryTotal> topCategories(int limit) {
+        return expensesByCategory.subList(0, Math.min(limit, expensesByCategory.size()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Budget;
+import com.budgetwise.entity.Category;
+import com.budgetwise.entity.SavingsGoal;
+import com.budgetwise.entity.Transaction;
+import com.budgetwise.entity.UserProfile;
+import com.budgetwise.repository.BudgetRepository;
+import com.budgetwise.repository.CategoryRepository;
+import com.budgetwise.repository.SavingsGoalRepository;
+import com.budgetwise.repository.TransactionRepository;
+import com.budgetwise.repository.UserProfileRepository;
+import com.budgetwise.service.FinancialFacts.BudgetStatus;
+import com.budgetwise.service.FinancialFacts.CategoryTotal;
+import com.budgetwise.service.FinancialFacts.GoalProgress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user {@link FinancialFacts}, computed with a handful of aggregate
+ * queries and cached until the user next changes a transaction, budget, goal
+ * or profile, the month ends, or the TTL passes. Services that write those call
+ * {@link #invalidate}; the entry is dropped once the write commits, and a
+ * computation that started before an invalidation is not cached.
+ */
+@Service
+public class FinancialFactsService {
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final CategoryRepository categoryRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Long, Cached> facts = new ConcurrentHashMap<>();
+    /** When each user's facts were last invalidated, by {@link System#nanoTime()}. */
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    private record Cached(FinancialFacts facts, long expiresAt) {
+    }
+
+    public FinancialFactsService(TransactionRepository transactionRepository,
+                                 BudgetRepository budgetRepository,
+                                 SavingsGoalRepository savingsGoalRepository,
+                                 UserProfileRepository userProfileRepository,
+                                 CategoryRepository categoryRepository,
+                                 @Value("${financial-facts.ttl-ms:600000}") long ttlMs,
+                                 @Value("${financial-facts.max-entries:10000}") int maxEntries) {
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.savingsGoalRepository = savingsGoalRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.categoryRepository = categoryRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+    }
+
+    public FinancialFacts get(Long userId) {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Cached cached = facts.get(userId);
+        if (cached != null && cached.expiresAt() - started > 0 && cached.facts().month().equals(YearMonth.from(today))) {
+            return cached.facts();
+        }
+
+        FinancialFacts computed = compute(userId, today);
+        if (facts.size() >= maxEntries) {
+            evictExpired(System.nanoTime());
+        }
+        // Checked and stored under the entry's lock, which drop also takes
+        facts.compute(userId, (id, current) -> {
+            Long invalidated = invalidatedAt.get(id);
+            return invalidated == null || invalidated - started < 0
+                    ? new Cached(computed, started + ttlNanos)
+                    : current;
+        });
+        return computed;
+    }
+
+    /**
+     * Drop the user's facts after data they are computed from changed. Inside
+     * a database transaction this takes effect when it commits.
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(userId);
+                }
+            });
+        } else {
+            drop(userId);
+        }
+    }
+
+    private void drop(Long userId) {
+        long now = System.nanoTime();
+        facts.compute(userId, (id, current) -> {
+            invalidatedAt.put(id, now);
+            return null;
+        });
+        if (invalidatedAt.size() > maxEntries) {
+            // Computations older than the TTL would expire on arrival, so their invalidations can go
+            invalidatedAt.values().removeIf(at -> now - at > ttlNanos);
+        }
+    }
+
+    private void evictExpired(long now) {
+        facts.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        if (facts.size() >= maxEntries) {
+            facts.clear();
+        }
+    }
+
+    private FinancialFacts compute(Long userId, LocalDate today) {
+        YearMonth month = YearMonth.from(today);
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expenses = BigDecimal.ZERO;
+        int transactionCount = 0;
+        Map<Long, BigDecimal> byCategory = new HashMap<>();
+        for (Object[] row : transactionRepository.sumByTypeAndCategory(userId, month.atDay(1), month.atEndOfMonth())) {
+            BigDecimal amount = (BigDecimal) row[2];
+            transactionCount += ((Number) row[3]).intValue();
+            if (row[0] == Transaction.TransactionType.INCOME) {
+                income = income.add(amount);
+            } else if (row[0] == Transaction.TransactionType.EXPENSE) {
+                expenses = expenses.add(amount);
+                if (row[1] != null) {
+                    byCategory.put((Long) row[1], amount);
+                }
+            }
+        }
+
+        List<Budget> budgets = budgetRepository.findByUserId(userId);
+        List<SavingsGoal> goals = savingsGoalRepository.findByUserId(userId);
+
+        Set<Long> categoryIds = new HashSet<>(byCategory.keySet());
+        List<Budget> activeBudgets = new ArrayList<>();
+        for (Budget budget : budgets) {
+            if (!budget.getStartDate().isAfter(today) && !budget.getEndDate().isBefore(today)) {
+                activeBudgets.add(budget);
+                if (budget.getCategoryId() != null) {
+                    categoryIds.add(budget.getCategoryId());
+                }
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(categoryIds)) {
+            names.put(category.getId(), category.getName());
+        }
+
+        List<CategoryTotal> categories = new ArrayList<>(byCategory.size());
+        byCategory.forEach((id, amount) -> categories.add(
+                new CategoryTotal(id, names.getOrDefault(id, "Uncategorized"), amount)));
+        categories.sort(Comparator.comparing(CategoryTotal::amount).reversed());
+
+        List<BudgetStatus> budgetStatuses = new ArrayList<>(activeBudgets.size());
+        for (Budget budget : activeBudgets) {
+            BigDecimal spent = budget.getSpent() != null ? budget.getSpent() : BigDecimal.ZERO;
+            budgetStatuses.add(new BudgetStatus(budget.getId(),
+                    names.getOrDefault(budget.getCategoryId(), "Uncategorized"),
+                    budget.getAmount(), spent, percent(spent, budget.getAmount())));
+        }
+
+        List<GoalProgress> goalProgress = new ArrayList<>();
+        for (SavingsGoal goal : goals) {
+            if (goal.getStatus() == SavingsGoal.GoalStatus.ACTIVE) {
+                BigDecimal saved = goal.getCurrentAmount() != null ? goal.getCurrentAmount() : BigDecimal.ZERO;
+                goalProgress.add(new GoalProgress(goal.getId(), goal.getName(), goal.getTargetAmount(), saved,
+                        percent(saved, goal.getTargetAmount()), goal.getDeadline()));
+            }
+        }
+
+        BigDecimal profileIncome = userProfileRepository.findByUserId(userId)
+                .map(UserProfile::getMonthlyIncome)
+                .orElse(null);
+
+        return new FinancialFacts(month, income, expenses, transactionCount, List.copyOf(categories),
+                profileIncome, budgets.size(), List.copyOf(budgetStatuses), goals.size(), List.copyOf(goalProgress));
+    }
+
+    private static double percent(BigDecimal part, BigDecimal whole) {
+        if (whole == null || whole.signum() <= 0) {
+            return 0;
+        }
+        return part.multiply(BigDecimal.valueOf(100)).divide(whole, 1, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,429 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.*;
+import com.budgetwise.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the GDPR data export as a ZIP archive with one deflated CSV entry per
+ * entity type. The archive is streamed from the database to a temporary file
+ * and kept for a short time, so interrupted downloads can be resumed with HTTP
+ * range requests against the same bytes while the client's If-Range still
+ * names them. A new export always gets a fresh archive. Expired archives are
+ * swept periodically, and archives left behind by a previous run are deleted
+ * on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GdprExportService {
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final BillRepository billRepository;
+    private final InvestmentRepository investmentRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final LikeRepository likeRepository;
+
+    private static final int TRANSACTION_PAGE_SIZE = 1000;
+    private static final String ARCHIVE_GLOB = "gdpr-export-*.zip";
+
+    private final Map<Long, ExportArchive> archives = new ConcurrentHashMap<>();
+    /** Builds in progress; concurrent requests of one user share a build without holding up other users. */
+    private final Map<Long, CompletableFuture<ExportArchive>> builds = new ConcurrentHashMap<>();
+
+    @Value("${gdpr.export.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${gdpr.export.dir:${java.io.tmpdir}/budgetwise-gdpr-exports}")
+    private String exportDir;
+
+    public record ExportArchive(Path path, Instant createdAt, String etag) {
+
+        /**
+         * Whether an {@code If-Range} value names this archive: its ETag, or
+         * its Last-Modified date to the second.
+         */
+        public boolean matches(String ifRange) {
+            if (ifRange == null) {
+                return false;
+            }
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                return ifRange.equals(etag);
+            }
+            try {
+                return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond()
+                        == createdAt.getEpochSecond();
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Return the user's export archive. A resumed download whose
+     * {@code If-Range} still names the recent archive reuses it, so its range
+     * requests see identical content; otherwise the archive is rebuilt from
+     * current data.
+     */
+    public ExportArchive getOrCreateArchive(Long userId, String ifRange) throws IOException {
+        ExportArchive existing = archives.get(userId);
+        if (existing != null && existing.matches(ifRange)
+                && !isExpired(existing, cutoff()) && Files.exists(existing.path())) {
+            return existing;
+        }
+
+        CompletableFuture<ExportArchive> build = new CompletableFuture<>();
+        CompletableFuture<ExportArchive> running = builds.putIfAbsent(userId, build);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            ExportArchive archive = buildArchive(userId);
+            ExportArchive previous = archives.put(userId, archive);
+            if (previous != null) {
+                delete(previous);
+            }
+            build.complete(archive);
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            builds.remove(userId, build);
+        }
+    }
+
+    /**
+     * Delete archives whose retention has passed.
+     */
+    @Scheduled(fixedDelayString = "${gdpr.export.sweep-ms:300000}")
+    public void purgeExpired() {
+        Instant cutoff = cutoff();
+        archives.entrySet().removeIf(entry -> {
+            if (isExpired(entry.getValue(), cutoff)) {
+                delete(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Archives from a previous run are not tracked and cannot be resumed, so
+     * they are deleted rather than left in the temporary directory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteLeftoverArchives() {
+        Path dir = Path.of(exportDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, ARCHIVE_GLOB)) {
+            for (Path file : files) {
+                boolean tracked = archives.values().stream().anyMatch(archive -> archive.path().equals(file));
+                if (!tracked && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep GDPR exports in {}", dir, e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} GDPR export archives left from a previous run", deleted);
+        }
+    }
+
+    private ExportArchive buildArchive(Long userId) throws IOException {
+        Path dir = Files.createDirectories(Path.of(exportDir));
+        Path file = Files.createTempFile(dir, "gdpr-export-" + userId + "-", ".zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.setMethod(ZipOutputStream.DEFLATED);
+            zip.setLevel(Deflater.BEST_COMPRESSION);
+
+            writeEntry(zip, "transactions.csv", this::writeTransactions, userId);
+            writeEntry(zip, "budgets.csv", this::writeBudgets, userId);
+            writeEntry(zip, "savings_goals.csv", this::writeGoals, userId);
+            writeEntry(zip, "bills.csv", this::writeBills, userId);
+            writeEntry(zip, "investments.csv", this::writeInvestments, userId);
+            writeEntry(zip, "categories.csv", this::writeCategories, userId);
+            writeEntry(zip, "profile.csv", this::writeProfile, userId);
+            writeEntry(zip, "forum_posts.csv", this::writePosts, userId);
+            writeEntry(zip, "forum_comments.csv", this::writeComments, userId);
+            writeEntry(zip, "forum_likes.csv", this::writeLikes, userId);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        Instant createdAt = Instant.now();
+        String etag = "\"" + userId + "-" + createdAt.toEpochMilli() + "-" + Files.size(file) + "\"";
+        log.info("Built GDPR export for user {} ({} bytes)", userId, Files.size(file));
+        return new ExportArchive(file, createdAt, etag);
+    }
+
+    private Instant cutoff() {
+        return Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+    }
+
+    private static boolean isExpired(ExportArchive archive, Instant cutoff) {
+        return archive.createdAt().isBefore(cutoff);
+    }
+
+    private void delete(ExportArchive archive) {
+        try {
+            Files.deleteIfExists(archive.path());
+        } catch (IOException e) {
+            log.warn("Could not delete GDPR export {}", archive.path(), e);
+        }
+    }
+
+    private static ExportArchive await(CompletableFuture<ExportArchive> build) throws IOException {
+        try {
+            return build.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private interface EntryWriter {
+        void write(PrintWriter writer, Long userId);
+    }
+
+    private void writeEntry(ZipOutputStream zip, String name, EntryWriter entryWriter, Long userId)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        // The writer must not close the zip stream when it is flushed and discarded
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FilterOutputStream(zip) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, StandardCharsets.UTF_8));
+        entryWriter.write(writer, userId);
+        writer.flush();
+        if (writer.checkError()) {
+            throw new UncheckedIOException(new IOException("Failed writing export entry " + name));
+        }
+        zip.closeEntry();
+    }
+
+    // ========== ENTITY WRITERS ==========
+
+    private void writeTransactions(PrintWriter writer, Long userId) {
+        writer.println("ID,Date,Type,Amount,Category ID,Description,Created At");
+        forEachTransaction(userId, row -> writer.println(String.join(",",
+                str(row[0]),
+                str(row[1]),
+                str(row[2]),
+                str(row[3]),
+                str(row[4]),
+                csv((String) row[5]),
+                str(row[6]))));
+    }
+
+    /**
+     * Walk the user's transactions in id order, one bounded page at a time.
+     * Rows are read as plain values rather than entities, so an open session
+     * does not keep every page managed until the request ends.
+     */
+    private void forEachTransaction(Long userId, Consumer<Object[]> consumer) {
+        PageRequest page = PageRequest.of(0, TRANSACTION_PAGE_SIZE);
+        long lastId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = transactionRepository.findExportRowsAfter(userId, lastId, page);
+            for (Object[] row : rows) {
+                consumer.accept(row);
+                lastId = (Long) row[0];
+            }
+        } while (rows.size() == TRANSACTION_PAGE_SIZE);
+    }
+
+    private void writeBudgets(PrintWriter writer, Long userId) {
+        writer.println("ID,Category ID,Amount,Period,Start Date,End Date,Alert Threshold,Spent");
+        for (Budget b : budgetRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(b.getId()),
+                    str(b.getCategoryId()),
+                    str(b.getAmount()),
+                    str(b.getPeriod()),
+                    str(b.getStartDate()),
+                    str(b.getEndDate()),
+                    str(b.getAlertThreshold()),
+                    str(b.getSpent())));
+        }
+    }
+
+    private void writeGoals(PrintWriter writer, Long userId) {
+        writer.println("ID,Name,Target Amount,Current Amount,Deadline,Status,Created At");
+        for (SavingsGoal g : savingsGoalRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(g.getId()),
+                    csv(g.getName()),
+                    str(g.getTargetAmount()),
+                    str(g.getCurrentAmount()),
+                    str(g.getDeadline()),
+                    str(g.getStatus()),
+                    str(g.getCreatedAt())));
+        }
+    }
+
+    private void writeBills(PrintWriter writer, Long userId) {
+        writer.println("ID,Name,Amount,Category,Recurrence,Due Date,Next Due Date,Status,Auto Reminder,Notes");
+        for (Bill b : billRepository.findByUserIdOrderByNextDueDateAsc(userId)) {
+            writer.println(String.join(",",
+                    str(b.getId()),
+                    csv(b.getName()),
+                    str(b.getAmount()),
+                    csv(b.getCategory()),
+                    str(b.getRecurrence()),
+                    str(b.getDueDate()),
+                    str(b.getNextDueDate()),
+                    str(b.getStatus()),
+                    str(b.getAutoReminder()),
+                    csv(b.getNotes())));
+        }
+    }
+
+    private void writeInvestments(PrintWriter writer, Long userId) {
+        writer.println("ID,Name,Type,Symbol,Quantity,Buy Price,Current Price,Purchase Date,Notes");
+        for (Investment i : investmentRepository.findByUserIdOrderByPurchaseDateDesc(userId)) {
+            writer.println(String.join(",",
+                    str(i.getId()),
+                    csv(i.getName()),
+                    str(i.getType()),
+                    csv(i.getSymbol()),
+                    str(i.getQuantity()),
+                    str(i.getBuyPrice()),
+                    str(i.getCurrentPrice()),
+                    str(i.getPurchaseDate()),
+                    csv(i.getNotes())));
+        }
+    }
+
+    private void writeCategories(PrintWriter writer, Long userId) {
+        writer.println("ID,Name,Type,Icon,Color,Created At");
+        for (Category c : categoryRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(c.getId()),
+                    csv(c.getName()),
+                    str(c.getType()),
+                    csv(c.getIcon()),
+                    csv(c.getColor()),
+                    str(c.getCreatedAt())));
+        }
+    }
+
+    private void writeProfile(PrintWriter writer, Long userId) {
+        writer.println("First Name,Last Name,Monthly Income,Savings Target,Currency,Timezone,Language,Theme,"
+                + "Date Format,Email Notifications,Push Notifications");
+        userProfileRepository.findByUserId(userId).ifPresent(p -> writer.println(String.join(",",
+                csv(p.getFirstName()),
+                csv(p.getLastName()),
+                str(p.getMonthlyIncome()),
+                str(p.getSavingsTarget()),
+                csv(p.getCurrency()),
+                csv(p.getTimezone()),
+                csv(p.getLanguage()),
+                csv(p.getTheme()),
+                csv(p.getDateFormat()),
+                str(p.getNotificationEmail()),
+                str(p.getNotificationPush()))));
+    }
+
+    private void writePosts(PrintWriter writer, Long userId) {
+        writer.println("ID,Title,Content,Tags,Created At");
+        for (Post p : postRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(p.getId()),
+                    csv(p.getTitle()),
+                    csv(p.getContent()),
+                    csv(p.getTags()),
+                    str(p.getCreatedAt())));
+        }
+    }
+
+    private void writeComments(PrintWriter writer, Long userId) {
+        writer.println("ID,Post ID,Content,Created At");
+        for (Comment c : commentRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(c.getId()),
+                    str(c.getPostId()),
+                    csv(c.getContent()),
+                    str(c.getCreatedAt())));
+        }
+    }
+
+    private void writeLikes(PrintWriter writer, Long userId) {
+        writer.println("ID,Type,Post ID,Comment ID,Created At");
+        for (Like l : likeRepository.findByUserId(userId)) {
+            writer.println(String.join(",",
+                    str(l.getId()),
+                    str(l.getType()),
+                    str(l.getPostId()),
+                    str(l.getCommentId()),
+                    str(l.getCreatedAt())));
+        }
+    }
+
+    // ========== UTILITY METHODS ==========
+
+    private String str(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
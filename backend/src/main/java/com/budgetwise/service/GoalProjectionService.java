@@ -0,0 +1,211 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.GoalProjectionDto;
+import com.budgetwise.dto.GoalSimulationRequest;
+import com.budgetwise.dto.GoalSimulationResultDto;
+import com.budgetwise.entity.SavingsGoal;
+import com.budgetwise.repository.SavingsGoalRepository;
+import com.budgetwise.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects when the user's active savings goals will be reached, by Monte
+ * Carlo simulation over the user's own monthly savings history (see
+ * {@link GoalSimulator}). Monthly savings are income minus expenses with goal
+ * transfers left out; by default they are split across goals in the
+ * proportion the user has contributed to them recently.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoalProjectionService {
+
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${goals.simulation.history-months:24}")
+    private int historyMonths;
+
+    @Value("${goals.simulation.default-paths:10000}")
+    private int defaultPaths;
+
+    @Value("${goals.simulation.max-paths:50000}")
+    private int maxPaths;
+
+    @Value("${goals.simulation.max-horizon-months:600}")
+    private int maxHorizonMonths;
+
+    public GoalSimulationResultDto simulate(Long userId, GoalSimulationRequest request) {
+        long started = System.nanoTime();
+        int paths = request.getPaths() != null ? request.getPaths() : defaultPaths;
+        int horizon = request.getHorizonMonths() != null ? request.getHorizonMonths() : 120;
+        double multiplier = request.getSavingsMultiplier() != null ? request.getSavingsMultiplier() : 1.0;
+        double adjustment = request.getMonthlyAdjustment() != null ? request.getMonthlyAdjustment().doubleValue() : 0;
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+
+        if (paths < 1 || paths > maxPaths) {
+            throw new IllegalArgumentException("paths must be between 1 and " + maxPaths);
+        }
+        if (horizon < 1 || horizon > maxHorizonMonths) {
+            throw new IllegalArgumentException("horizonMonths must be between 1 and " + maxHorizonMonths);
+        }
+        if (multiplier < 0) {
+            throw new IllegalArgumentException("savingsMultiplier must not be negative");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<SavingsGoal> goals = savingsGoalRepository.findByUserIdAndStatus(userId, SavingsGoal.GoalStatus.ACTIVE);
+        double[] samples = monthlySavings(userId, YearMonth.from(today));
+
+        double[] remaining = new double[goals.size()];
+        for (int g = 0; g < goals.size(); g++) {
+            SavingsGoal goal = goals.get(g);
+            BigDecimal current = goal.getCurrentAmount() != null ? goal.getCurrentAmount() : BigDecimal.ZERO;
+            remaining[g] = goal.getTargetAmount().subtract(current).doubleValue();
+        }
+        double[] weights = request.getAllocations() != null
+                ? requestedWeights(goals, request.getAllocations())
+                : historicalWeights(userId, goals, today);
+
+        double[] draws = samples.length > 0 ? samples : new double[] { 0 };
+        int[][] completion = goals.isEmpty()
+                ? new int[0][]
+                : GoalSimulator.run(remaining, weights, draws, multiplier, adjustment, horizon, paths, seed);
+
+        double weightSum = Arrays.stream(weights).sum();
+        List<GoalProjectionDto> projections = new ArrayList<>(goals.size());
+        for (int g = 0; g < goals.size(); g++) {
+            SavingsGoal goal = goals.get(g);
+            int[] months = completion[g];
+            Arrays.sort(months);
+
+            Integer monthsToDeadline = goal.getDeadline() != null
+                    ? (int) ChronoUnit.MONTHS.between(today, goal.getDeadline())
+                    : null;
+
+            projections.add(GoalProjectionDto.builder()
+                    .goalId(goal.getId())
+                    .name(goal.getName())
+                    .remainingAmount(BigDecimal.valueOf(Math.max(remaining[g], 0)).setScale(2, RoundingMode.HALF_UP))
+                    .deadline(goal.getDeadline())
+                    .allocationPercentage(percent(weightSum > 0 ? weights[g] / weightSum : 1.0 / goals.size()))
+                    .completionP10(dateAt(today, percentile(months, 0.10), horizon))
+                    .completionP50(dateAt(today, percentile(months, 0.50), horizon))
+                    .completionP90(dateAt(today, percentile(months, 0.90), horizon))
+                    .probabilityByDeadline(monthsToDeadline != null
+                            ? percent(shareAtMost(months, monthsToDeadline))
+                            : null)
+                    .probabilityWithinHorizon(percent(shareAtMost(months, horizon)))
+                    .build());
+        }
+
+        return GoalSimulationResultDto.builder()
+                .paths(paths)
+                .horizonMonths(horizon)
+                .monthsOfHistory(samples.length)
+                .averageMonthlySavings(BigDecimal.valueOf(Arrays.stream(draws).average().orElse(0))
+                        .setScale(2, RoundingMode.HALF_UP))
+                .goals(projections)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .build();
+    }
+
+    /**
+     * Net savings of each complete month in the history window, from the first
+     * month with any activity; months without transactions count as zero.
+     */
+    private double[] monthlySavings(Long userId, YearMonth current) {
+        YearMonth first = current.minusMonths(historyMonths);
+        Map<YearMonth, Double> byMonth = new HashMap<>();
+        YearMonth earliest = null;
+        for (Object[] row : transactionRepository.sumMonthlyNetSavings(userId, first.atDay(1))) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            if (!month.isBefore(current)) {
+                continue;
+            }
+            byMonth.put(month, ((Number) row[2]).doubleValue());
+            if (earliest == null || month.isBefore(earliest)) {
+                earliest = month;
+            }
+        }
+        if (earliest == null) {
+            return new double[0];
+        }
+
+        double[] samples = new double[(int) ChronoUnit.MONTHS.between(earliest, current)];
+        YearMonth month = earliest;
+        for (int i = 0; i < samples.length; i++, month = month.plusMonths(1)) {
+            samples[i] = byMonth.getOrDefault(month, 0.0);
+        }
+        return samples;
+    }
+
+    private double[] historicalWeights(Long userId, List<SavingsGoal> goals, LocalDate today) {
+        Map<Long, Double> contributed = new HashMap<>();
+        for (Object[] row : transactionRepository.sumGoalContributions(userId, today.minusMonths(historyMonths))) {
+            contributed.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        double[] weights = new double[goals.size()];
+        for (int g = 0; g < goals.size(); g++) {
+            weights[g] = Math.max(contributed.getOrDefault(goals.get(g).getId(), 0.0), 0);
+        }
+        // Without any recent contributions, split savings equally
+        if (Arrays.stream(weights).sum() <= 0) {
+            Arrays.fill(weights, 1.0);
+        }
+        return weights;
+    }
+
+    private double[] requestedWeights(List<SavingsGoal> goals, Map<Long, Double> allocations) {
+        double[] weights = new double[goals.size()];
+        for (int g = 0; g < goals.size(); g++) {
+            Double weight = allocations.get(goals.get(g).getId());
+            if (weight != null && weight < 0) {
+                throw new IllegalArgumentException("Allocations must not be negative");
+            }
+            weights[g] = weight != null ? weight : 0;
+        }
+        return weights;
+    }
+
+    private static int percentile(int[] sorted, double q) {
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double shareAtMost(int[] sorted, int month) {
+        // Index of the first value above month
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= month) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (double) low / sorted.length;
+    }
+
+    private static LocalDate dateAt(LocalDate today, int month, int horizon) {
+        return month > horizon ? null : today.plusMonths(month);
+    }
+
+    private static BigDecimal percent(double share) {
+        return BigDecimal.valueOf(share * 100).setScale(1, RoundingMode.HALF_UP);
+    }
+}
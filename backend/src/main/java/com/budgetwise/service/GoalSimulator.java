@@ -0,0 +1,103 @@
+package com.budgetwise.service;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo projection of when a set of savings goals is reached. Each path
+ * draws a month's savings from the historical monthly values (with
+ * replacement), scales and shifts it for the scenario, and splits it across
+ * the unfinished goals by weight. State is held in primitive arrays and paths
+ * are simulated in independent chunks in parallel; each chunk gets its own
+ * random stream split from the seed, so results are reproducible.
+ */
+final class GoalSimulator {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private GoalSimulator() {
+    }
+
+    /**
+     * Simulate the goals and return, per goal and path, the month (1-based) in
+     * which the goal was reached: 0 if it already is, {@code horizon + 1} if it
+     * was not reached within the horizon.
+     *
+     * @param remaining  amount still needed per goal
+     * @param weights    share of each month's savings per goal; shares of
+     *                   finished goals are spread over the rest, and if only
+     *                   zero-weight goals remain they are funded equally
+     * @param samples    historical monthly savings to draw from
+     * @param multiplier scale applied to each drawn month
+     * @param adjustment amount added to each drawn month after scaling
+     */
+    static int[][] run(double[] remaining, double[] weights, double[] samples,
+                       double multiplier, double adjustment, int horizon, int paths, long seed) {
+        int goals = remaining.length;
+        int[][] completion = new int[goals][paths];
+        int chunks = (paths + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            SplittableRandom random = randoms[c];
+            double[] left = new double[goals];
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(paths, from + CHUNK_SIZE);
+            for (int p = from; p < to; p++) {
+                simulatePath(remaining, weights, samples, multiplier, adjustment, horizon, random, left, completion, p);
+            }
+        });
+        return completion;
+    }
+
+    private static void simulatePath(double[] remaining, double[] weights, double[] samples,
+                                     double multiplier, double adjustment, int horizon,
+                                     SplittableRandom random, double[] left, int[][] completion, int path) {
+        int goals = remaining.length;
+        int open = 0;
+        int openWeighted = 0;
+        double openWeight = 0;
+        for (int g = 0; g < goals; g++) {
+            left[g] = remaining[g];
+            if (left[g] <= 0) {
+                completion[g][path] = 0;
+            } else {
+                completion[g][path] = horizon + 1;
+                open++;
+                if (weights[g] > 0) {
+                    openWeighted++;
+                    openWeight += weights[g];
+                }
+            }
+        }
+
+        for (int month = 1; month <= horizon && open > 0; month++) {
+            double saved = samples[random.nextInt(samples.length)] * multiplier + adjustment;
+            if (saved <= 0) {
+                continue;
+            }
+            // Counted rather than read off openWeight, which keeps rounding residue once the weighted goals finish
+            boolean equalSplit = openWeighted == 0;
+            double perUnit = equalSplit ? saved / open : saved / openWeight;
+            for (int g = 0; g < goals; g++) {
+                if (completion[g][path] <= horizon) {
+                    continue;
+                }
+                left[g] -= equalSplit ? perUnit : perUnit * weights[g];
+                if (left[g] <= 0) {
+                    completion[g][path] = month;
+                    open--;
+                    if (weights[g] > 0) {
+                        openWeighted--;
+                        openWeight -= weights[g];
+                    }
+                }
+            }
+        }
+    }
+}
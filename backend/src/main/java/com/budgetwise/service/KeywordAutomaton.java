@@ -0,0 +1,125 @@
+package com.budgetwise.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho–Corasick automaton over a fixed set of lower-case ASCII keywords. The
+ * goto and failure functions are folded into one dense transition table over
+ * the characters that occur in the keywords, so a text is scanned once, with
+ * one array lookup per character, however many keywords there are.
+ */
+final class KeywordAutomaton {
+
+    private final int[] charClass = new int[128];
+    private final int classes;
+    /** Next state by {@code state * classes + charClass}; class 0 is any character no keyword contains. */
+    private final int[] next;
+    /** Keywords ending in each state, including those reached through failure links. */
+    private final int[][] output;
+    private final int keywordCount;
+
+    KeywordAutomaton(List<String> keywords) {
+        int classCount = 1;
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword");
+            }
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c >= 128 || Character.toLowerCase(c) != c) {
+                    throw new IllegalArgumentException("Keywords must be lower-case ASCII: " + keyword);
+                }
+                if (charClass[c] == 0) {
+                    charClass[c] = classCount++;
+                }
+            }
+        }
+        this.classes = classCount;
+        this.keywordCount = keywords.size();
+
+        // Trie of the keywords; -1 marks a missing edge
+        List<int[]> edges = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        edges.add(emptyRow());
+        ends.add(new ArrayList<>());
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int c = charClass[keyword.charAt(i)];
+                if (edges.get(state)[c] < 0) {
+                    edges.get(state)[c] = edges.size();
+                    edges.add(emptyRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = edges.get(state)[c];
+            }
+            ends.get(state).add(k);
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state itself
+        int states = edges.size();
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = edges.get(0);
+        for (int c = 0; c < classes; c++) {
+            if (root[c] < 0) {
+                root[c] = 0;
+            } else {
+                queue.add(root[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            ends.get(state).addAll(ends.get(fail[state]));
+            int[] row = edges.get(state);
+            int[] fallback = edges.get(fail[state]);
+            for (int c = 0; c < classes; c++) {
+                if (row[c] < 0) {
+                    row[c] = fallback[c];
+                } else {
+                    fail[row[c]] = fallback[c];
+                    queue.add(row[c]);
+                }
+            }
+        }
+
+        this.next = new int[states * classes];
+        this.output = new int[states][];
+        for (int state = 0; state < states; state++) {
+            System.arraycopy(edges.get(state), 0, next, state * classes, classes);
+            output[state] = ends.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private int[] emptyRow() {
+        int[] row = new int[classes];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    int keywordCount() {
+        return keywordCount;
+    }
+
+    /**
+     * Indices of the keywords that occur anywhere in the text, ignoring case.
+     */
+    BitSet find(CharSequence text) {
+        BitSet found = new BitSet(keywordCount);
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            state = next[state * classes + (c < 128 ? charClass[c] : 0)];
+            for (int keyword : output[state]) {
+                found.set(keyword);
+            }
+        }
+        return found;
+    }
+}
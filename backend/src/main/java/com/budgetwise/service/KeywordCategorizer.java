@@ -0,0 +1,227 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.CategorizationSuggestionDto;
+import com.budgetwise.entity.Category;
+import com.budgetwise.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suggests a category from keywords in a transaction description. The keyword
+ * dictionary is compiled once into a {@link KeywordAutomaton}, so a description
+ * is matched against every keyword in a single pass. A category scores the
+ * share of its keywords found in the description. Which of the dictionary's
+ * categories a user has is resolved once per user and cached for a short time;
+ * category changes evict it.
+ */
+@Service
+public class KeywordCategorizer {
+
+    static final String DEFAULT_CATEGORY = "Other Expense";
+
+    // Keyword dictionary for categorization
+    static final Map<String, List<String>> CATEGORY_KEYWORDS = new LinkedHashMap<>() {{
+        put("Food & Dining", Arrays.asList("restaurant", "cafe", "coffee", "pizza", "burger", "food", "dining",
+                "mcdonald", "starbucks", "subway", "chipotle", "domino", "kfc", "taco", "wendy"));
+        put("Groceries", Arrays.asList("grocery", "supermarket", "walmart", "target", "costco", "safeway",
+                "kroger", "whole foods", "trader joe", "aldi", "market"));
+        put("Transportation", Arrays.asList("uber", "lyft", "taxi", "gas", "fuel", "shell", "chevron", "exxon",
+                "bp", "parking", "metro", "transit", "bus", "train"));
+        put("Rent", Arrays.asList("rent", "lease", "apartment", "housing", "landlord"));
+        put("Utilities", Arrays.asList("electric", "water", "gas", "internet", "phone", "utility", "verizon",
+                "at&t", "comcast", "spectrum", "t-mobile"));
+        put("Healthcare", Arrays.asList("doctor", "hospital", "pharmacy", "medical", "health", "clinic",
+                "cvs", "walgreens", "medicine", "prescription"));
+        put("Entertainment", Arrays.asList("movie", "cinema", "netflix", "spotify", "hulu", "disney", "game",
+                "theater", "concert", "ticket", "entertainment"));
+        put("Shopping", Arrays.asList("amazon", "ebay", "shop", "store", "mall", "clothing", "fashion",
+                "nike", "adidas", "zara", "h&m"));
+        put("Education", Arrays.asList("school", "university", "college", "course", "tuition", "book",
+                "education", "learning", "udemy", "coursera"));
+        put("Travel", Arrays.asList("hotel", "flight", "airline", "airbnb", "booking", "expedia", "travel",
+                "vacation", "trip", "airport"));
+        put("Insurance", Arrays.asList("insurance", "policy", "premium", "geico", "state farm", "allstate"));
+    }};
+
+    private static final String[] CATEGORY_NAMES = CATEGORY_KEYWORDS.keySet().toArray(new String[0]);
+    /** Number of distinct keywords per dictionary category. */
+    private static final int[] KEYWORD_TOTALS = new int[CATEGORY_NAMES.length];
+    /** Dictionary categories per keyword of the automaton; a keyword may belong to several. */
+    private static final int[][] KEYWORD_CATEGORIES;
+    private static final KeywordAutomaton AUTOMATON;
+
+    static {
+        Map<String, List<Integer>> categoriesByKeyword = new LinkedHashMap<>();
+        for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+            for (String keyword : CATEGORY_KEYWORDS.get(CATEGORY_NAMES[c])) {
+                List<Integer> owners = categoriesByKeyword.computeIfAbsent(keyword, k -> new ArrayList<>());
+                if (!owners.contains(c)) {
+                    owners.add(c);
+                    KEYWORD_TOTALS[c]++;
+                }
+            }
+        }
+        KEYWORD_CATEGORIES = categoriesByKeyword.values().stream()
+                .map(owners -> owners.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        AUTOMATON = new KeywordAutomaton(new ArrayList<>(categoriesByKeyword.keySet()));
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Long, Matcher> matchers = new ConcurrentHashMap<>();
+
+    public KeywordCategorizer(CategoryRepository categoryRepository,
+                              @Value("${categorization.keyword-matcher.ttl-ms:600000}") long ttlMs,
+                              @Value("${categorization.keyword-matcher.max-entries:10000}") int maxEntries) {
+        this.categoryRepository = categoryRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The user's categories for each dictionary category, by position in the
+     * dictionary (null where the user has none), their default category, and
+     * the names of all their categories by id.
+     */
+    record Matcher(Long[] ids, String[] names, Long defaultId, String defaultName,
+                   Map<Long, String> categoryNames, long expiresAt) {
+
+        /**
+         * Best keyword match for the description, the default category if
+         * nothing matches, or null if there is no default category either.
+         */
+        CategorizationSuggestionDto suggest(String description) {
+            if (description != null && !description.trim().isEmpty()) {
+                int[] hits = new int[CATEGORY_NAMES.length];
+                BitSet found = AUTOMATON.find(description);
+                for (int k = found.nextSetBit(0); k >= 0; k = found.nextSetBit(k + 1)) {
+                    for (int c : KEYWORD_CATEGORIES[k]) {
+                        hits[c]++;
+                    }
+                }
+
+                int best = -1;
+                double bestScore = 0;
+                for (int c = 0; c < hits.length; c++) {
+                    double score = (double) hits[c] / KEYWORD_TOTALS[c];
+                    if (ids[c] != null && score > bestScore) {
+                        best = c;
+                        bestScore = score;
+                    }
+                }
+                if (best >= 0) {
+                    return CategorizationSuggestionDto.builder()
+                            .categoryId(ids[best])
+                            .categoryName(names[best])
+                            .confidence(Math.min(100, bestScore * 100))
+                            .reason(String.format("Matched keywords in description: '%s'", description))
+                            .build();
+                }
+            }
+
+            if (defaultId != null) {
+                return CategorizationSuggestionDto.builder()
+                        .categoryId(defaultId)
+                        .categoryName(defaultName)
+                        .confidence(30.0)
+                        .reason("No specific keywords matched, using default category")
+                        .build();
+            }
+            return null;
+        }
+    }
+
+    public CategorizationSuggestionDto suggest(Long userId, String description) {
+        return matcher(userId).suggest(description);
+    }
+
+    /**
+     * Name of the category if it is one of the user's own or a system
+     * category, otherwise null.
+     */
+    public String categoryName(Long userId, Long categoryId) {
+        return matcher(userId).categoryNames().get(categoryId);
+    }
+
+    /**
+     * Suggestions for each description, in order, resolving the user's
+     * categories once.
+     */
+    public List<CategorizationSuggestionDto> suggestAll(Long userId, List<String> descriptions) {
+        Matcher matcher = matcher(userId);
+        List<CategorizationSuggestionDto> suggestions = new ArrayList<>(descriptions.size());
+        for (String description : descriptions) {
+            suggestions.add(matcher.suggest(description));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Drop the user's cached categories after they changed. System category
+     * changes are not user specific, so a null user clears everything.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            matchers.clear();
+        } else {
+            matchers.remove(userId);
+        }
+    }
+
+    private Matcher matcher(Long userId) {
+        long now = System.currentTimeMillis();
+        Matcher cached = matchers.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        cached = compile(categoryRepository.findByUserIdOrIsSystemTrue(userId), now + ttlMs);
+        if (matchers.size() >= maxEntries) {
+            matchers.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (matchers.size() >= maxEntries) {
+                matchers.clear();
+            }
+        }
+        matchers.put(userId, cached);
+        return cached;
+    }
+
+    /**
+     * Match the categories to the dictionary by name; where several share a
+     * name the first one wins.
+     */
+    static Matcher compile(List<Category> categories, long expiresAt) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int c = 0; c < CATEGORY_NAMES.length; c++) {
+            positions.put(CATEGORY_NAMES[c], c);
+        }
+
+        Long[] ids = new Long[CATEGORY_NAMES.length];
+        String[] names = new String[CATEGORY_NAMES.length];
+        Long defaultId = null;
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (Category category : categories) {
+            categoryNames.put(category.getId(), category.getName());
+            Integer position = positions.get(category.getName());
+            if (position != null && ids[position] == null) {
+                ids[position] = category.getId();
+                names[position] = category.getName();
+            }
+            if (defaultId == null && DEFAULT_CATEGORY.equals(category.getName())) {
+                defaultId = category.getId();
+            }
+        }
+        return new Matcher(ids, names, defaultId, DEFAULT_CATEGORY, categoryNames, expiresAt);
+    }
+}
@@ -0,0 +1,206 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import com.budgetwise.http.OutboundHttpClients;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Non-blocking Alpha Vantage quote client, on the "alphavantage" outbound
+ * client (see {@link OutboundHttpClients}). Calls run on a dedicated OkHttp
+ * dispatcher that keeps at most {@code max-concurrency} requests in flight and
+ * queues the rest; each call first reserves a token from a bucket sized to the
+ * provider's per-minute quota, so requests are paced without blocking threads.
+ * Callers normally go through {@link QuoteCache} rather than using this directly.
+ */
+@Component
+@Slf4j
+public class MarketQuoteClient {
+
+    /** A symbol of a given investment type, normalized to upper case. */
+    public record QuoteKey(String symbol, Investment.InvestmentType type) {
+        public QuoteKey {
+            symbol = symbol.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /** Latest quote; only the price is available for crypto. */
+    public record Quote(BigDecimal price, BigDecimal change, String changePercent, Long volume) {
+    }
+
+    /** The provider quota could not be reserved within the allowed wait. */
+    public static class QuotaExceededException extends IOException {
+        public QuotaExceededException() {
+            super("Quote quota exhausted");
+        }
+    }
+
+    private final OkHttpClient httpClient;
+    private final HttpUrl baseUrl;
+    private final String apiKey;
+    private final String cryptoMarket;
+    private final Bucket quota;
+    private final ScheduledExecutorService quotaScheduler;
+    private final Gson gson = new Gson();
+
+    @Autowired
+    public MarketQuoteClient(OutboundHttpClients outboundHttpClients,
+                             @Value("${alphavantage.api.url:https://www.alphavantage.co/query}") String baseUrl,
+                             @Value("${alphavantage.api.key:demo}") String apiKey,
+                             @Value("${market.price.crypto-market:USD}") String cryptoMarket,
+                             @Value("${market.price.requests-per-minute:5}") int requestsPerMinute,
+                             @Value("${market.price.max-concurrency:4}") int maxConcurrency) {
+        this(outboundHttpClients.forProvider("alphavantage"), baseUrl, apiKey, cryptoMarket,
+                requestsPerMinute, maxConcurrency);
+    }
+
+    MarketQuoteClient(OkHttpClient okHttpClient, String baseUrl, String apiKey, String cryptoMarket,
+                      int requestsPerMinute, int maxConcurrency) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrency);
+        dispatcher.setMaxRequestsPerHost(maxConcurrency);
+        this.httpClient = okHttpClient.newBuilder().dispatcher(dispatcher).build();
+        this.baseUrl = HttpUrl.get(baseUrl);
+        this.apiKey = apiKey;
+        this.cryptoMarket = cryptoMarket;
+        this.quota = Bucket.builder()
+                .addLimit(Bandwidth.classic(requestsPerMinute,
+                        Refill.greedy(requestsPerMinute, Duration.ofMinutes(1))))
+                .build();
+        this.quotaScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quote-quota");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        quotaScheduler.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+    }
+
+    /**
+     * Whether quotes can be fetched for this type of investment.
+     */
+    public static boolean isQuoted(Investment.InvestmentType type) {
+        return type == Investment.InvestmentType.STOCK
+                || type == Investment.InvestmentType.MUTUAL_FUND
+                || type == Investment.InvestmentType.CRYPTO;
+    }
+
+    /**
+     * Request one quote, waiting at most {@code maxQuotaWait} for the provider
+     * quota. The future completes with null if the provider does not know the
+     * symbol, and fails with {@link QuotaExceededException} if no quota was
+     * available in time.
+     */
+    public CompletableFuture<Quote> fetch(QuoteKey key, Duration maxQuotaWait) {
+        return quota.asScheduler().tryConsume(1, maxQuotaWait, quotaScheduler)
+                .thenCompose(reserved -> reserved
+                        ? call(key)
+                        : CompletableFuture.failedFuture(new QuotaExceededException()));
+    }
+
+    private CompletableFuture<Quote> call(QuoteKey key) {
+        CompletableFuture<Quote> result = new CompletableFuture<>();
+        Call call = httpClient.newCall(new Request.Builder().url(quoteUrl(key)).get().build());
+        result.whenComplete((quote, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        result.completeExceptionally(new IOException("HTTP " + response.code()));
+                        return;
+                    }
+                    result.complete(parseQuote(key, body.string()));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        return result;
+    }
+
+    private HttpUrl quoteUrl(QuoteKey key) {
+        HttpUrl.Builder url = baseUrl.newBuilder();
+        if (key.type() == Investment.InvestmentType.CRYPTO) {
+            url.addQueryParameter("function", "CURRENCY_EXCHANGE_RATE")
+                    .addQueryParameter("from_currency", key.symbol())
+                    .addQueryParameter("to_currency", cryptoMarket);
+        } else {
+            url.addQueryParameter("function", "GLOBAL_QUOTE")
+                    .addQueryParameter("symbol", key.symbol());
+        }
+        return url.addQueryParameter("apikey", apiKey).build();
+    }
+
+    /**
+     * Quote from a response, or null for an unknown symbol. Throttling notices
+     * from the provider are reported as failures.
+     */
+    Quote parseQuote(QuoteKey key, String json) throws IOException {
+        JsonObject response = gson.fromJson(json, JsonObject.class);
+        if (response == null) {
+            throw new IOException("Empty quote response");
+        }
+        if (response.has("Note") || response.has("Information")) {
+            JsonElement note = response.has("Note") ? response.get("Note") : response.get("Information");
+            throw new IOException("Provider refused request: " + note.getAsString());
+        }
+
+        if (key.type() == Investment.InvestmentType.CRYPTO) {
+            JsonObject rate = response.getAsJsonObject("Realtime Currency Exchange Rate");
+            if (rate == null || !rate.has("5. Exchange Rate")) {
+                return null;
+            }
+            return new Quote(new BigDecimal(rate.get("5. Exchange Rate").getAsString()), null, null, null);
+        }
+
+        JsonObject quote = response.getAsJsonObject("Global Quote");
+        if (quote == null || !quote.has("05. price")) {
+            return null;
+        }
+        return new Quote(
+                new BigDecimal(quote.get("05. price").getAsString()),
+                quote.has("09. change") ? new BigDecimal(quote.get("09. change").getAsString()) : null,
+                quote.has("10. change percent") ? quote.get("10. change percent").getAsString() : null,
+                quote.has("06. volume") ? quote.get("06. volume").getAsLong() : null);
+    }
+}
@@ -1,104 +1,244 @@
 package com.budgetwise.service;
 
 import com.budgetwise.config.ExternalApiConfig;
+import com.budgetwise.http.OutboundHttpClients;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import okio.BufferedSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Calls to the OpenAI completions API. Requests are sent with OkHttp's async
+ * {@code enqueue}, so no thread waits on the provider; the blocking methods
+ * are kept for callers that are already off the request threads. Advice can
+ * also be streamed as it is generated.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OpenAIService {
     
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    /** Categories the model is asked to choose from */
+    public static final List<String> AI_CATEGORIES = List.of(
+        "Food & Dining", "Groceries", "Transportation", "Rent", "Utilities", "Healthcare",
+        "Entertainment", "Shopping", "Education", "Travel", "Insurance", "Other");
+
+    private static final Pattern NUMBERED_LINE = Pattern.compile("^\\s*(\\d+)\\s*[.):-]\\s*(.+?)\\s*$");
+
     private final ExternalApiConfig apiConfig;
     private final OkHttpClient httpClient;
     private final Gson gson = new Gson();
+
+    @Value("${outbound.openai.stream-call-timeout-ms:120000}")
+    private long streamCallTimeoutMs;
+
+    public OpenAIService(ExternalApiConfig apiConfig, OutboundHttpClients outboundHttpClients) {
+        this.apiConfig = apiConfig;
+        this.httpClient = outboundHttpClients.forProvider("openai");
+    }
     
     /**
      * Get financial advice from OpenAI GPT
      */
     public String getFinancialAdvice(String userContext, String question) {
-        try {
-            String prompt = buildPrompt(userContext, question);
-            
-            JsonObject requestBody = new JsonObject();
-            requestBody.addProperty("model", "gpt-4");
-            requestBody.addProperty("prompt", prompt);
-            requestBody.addProperty("max_tokens", 500);
-            requestBody.addProperty("temperature", 0.7);
-            
-            Request request = new Request.Builder()
-                .url(apiConfig.getOpenaiApiUrl() + "/completions")
-                .addHeader("Authorization", "Bearer " + apiConfig.getOpenaiApiKey())
-                .addHeader("Content-Type", "application/json")
-                .post(RequestBody.create(
-                    gson.toJson(requestBody),
-                    MediaType.parse("application/json")
-                ))
-                .build();
-            
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    JsonObject jsonResponse = gson.fromJson(response.body().string(), JsonObject.class);
-                    return jsonResponse.getAsJsonArray("choices")
-                        .get(0).getAsJsonObject()
-                        .get("text").getAsString().trim();
-                } else {
-                    log.error("OpenAI API error: {}", response.code());
-                    return getFallbackAdvice(question);
-                }
-            }
-        } catch (IOException e) {
-            log.error("Error calling OpenAI API", e);
+        return getFinancialAdviceAsync(userContext, question).join();
+    }
+
+    /**
+     * Financial advice from OpenAI GPT, or rule-based advice if the call fails
+     */
+    public CompletableFuture<String> getFinancialAdviceAsync(String userContext, String question) {
+        return adviseAsync(userContext, question).exceptionally(e -> {
+            log.error("Error calling OpenAI API: {}", e.getMessage());
             return getFallbackAdvice(question);
-        }
+        });
+    }
+
+    /**
+     * Financial advice from OpenAI GPT; fails if the call does, so the caller
+     * can choose its own fallback
+     */
+    public CompletableFuture<String> adviseAsync(String userContext, String question) {
+        return complete(buildPrompt(userContext, question), 500, 0.7);
     }
     
     /**
      * Categorize transaction using AI
      */
     public String categorizeTransaction(String description) {
-        try {
-            String prompt = "Categorize this transaction into one of these categories: " +
-                "Food & Dining, Groceries, Transportation, Rent, Utilities, Healthcare, " +
-                "Entertainment, Shopping, Education, Travel, Insurance, Other. " +
-                "Transaction: " + description + ". " +
-                "Respond with only the category name.";
-            
-            JsonObject requestBody = new JsonObject();
-            requestBody.addProperty("model", "gpt-4");
-            requestBody.addProperty("prompt", prompt);
-            requestBody.addProperty("max_tokens", 20);
-            requestBody.addProperty("temperature", 0.3);
-            
-            Request request = new Request.Builder()
-                .url(apiConfig.getOpenaiApiUrl() + "/completions")
-                .addHeader("Authorization", "Bearer " + apiConfig.getOpenaiApiKey())
-                .addHeader("Content-Type", "application/json")
-                .post(RequestBody.create(
-                    gson.toJson(requestBody),
-                    MediaType.parse("application/json")
-                ))
-                .build();
-            
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    JsonObject jsonResponse = gson.fromJson(response.body().string(), JsonObject.class);
-                    return jsonResponse.getAsJsonArray("choices")
-                        .get(0).getAsJsonObject()
-                        .get("text").getAsString().trim();
+        return categorizeTransactionAsync(description).join();
+    }
+
+    /**
+     * Category name suggested by AI, or "Other" if the call fails
+     */
+    public CompletableFuture<String> categorizeTransactionAsync(String description) {
+        String prompt = "Categorize this transaction into one of these categories: " +
+            String.join(", ", AI_CATEGORIES) + ". " +
+            "Transaction: " + description + ". " +
+            "Respond with only the category name.";
+
+        return complete(prompt, 20, 0.3).exceptionally(e -> {
+            log.error("Error categorizing transaction with AI: {}", e.getMessage());
+            return "Other";
+        });
+    }
+
+    /**
+     * Categories for several transactions from a single completion request.
+     * The result has one entry per description, in order; entries the model
+     * left out or answered with an unknown category are null. Fails if the
+     * call does, so the caller can fall back.
+     */
+    public CompletableFuture<List<String>> categorizeBatchAsync(List<String> descriptions) {
+        StringBuilder prompt = new StringBuilder()
+            .append("Categorize each numbered transaction into one of these categories: ")
+            .append(String.join(", ", AI_CATEGORIES))
+            .append(". Respond with one line per transaction in the form '<number>. <category>' ")
+            .append("and nothing else.\n");
+        for (int i = 0; i < descriptions.size(); i++) {
+            prompt.append(i + 1).append(". ").append(descriptions.get(i).replace('\n', ' ')).append('\n');
+        }
+
+        return complete(prompt.toString(), 12 * descriptions.size() + 20, 0.0)
+            .thenApply(text -> parseNumberedCategories(text, descriptions.size()));
+    }
+
+    static List<String> parseNumberedCategories(String text, int count) {
+        Map<String, String> allowed = new HashMap<>();
+        for (String category : AI_CATEGORIES) {
+            allowed.put(category.toLowerCase(Locale.ROOT), category);
+        }
+        List<String> categories = new ArrayList<>(Collections.nCopies(count, null));
+        for (String line : text.split("\n")) {
+            Matcher matcher = NUMBERED_LINE.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1)) - 1;
+            String category = allowed.get(matcher.group(2).replaceAll("[.\"']", "").trim().toLowerCase(Locale.ROOT));
+            if (index >= 0 && index < count && category != null) {
+                categories.set(index, category);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * A streamed advice call, not yet started; run it with {@link #readStream}
+     * and cancel it to abandon the answer. A streamed answer takes longer to
+     * arrive in full than a buffered one, so the call gets its own timeout in
+     * place of the client's.
+     */
+    public Call adviceStream(String userContext, String question) {
+        Call call = httpClient.newCall(completionRequest(buildPrompt(userContext, question), 500, 0.7, true));
+        call.timeout().timeout(streamCallTimeoutMs, TimeUnit.MILLISECONDS);
+        return call;
+    }
+
+    /**
+     * Run a streamed call on the current thread, handing each piece of text to
+     * {@code onChunk} as it arrives, and return the whole text. The provider is
+     * read only as fast as {@code onChunk} returns, so a slow consumer slows the
+     * stream down rather than buffering it. Stops early if the call is cancelled.
+     */
+    public String readStream(Call call, Consumer<String> onChunk) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (Response response = call.execute(); ResponseBody body = response.body()) {
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("OpenAI API error: " + response.code());
+            }
+            BufferedSource source = body.source();
+            String line;
+            while (!call.isCanceled() && (line = source.readUtf8Line()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    break;
+                }
+                JsonObject event = gson.fromJson(data, JsonObject.class);
+                String chunk = event.getAsJsonArray("choices").get(0).getAsJsonObject().get("text").getAsString();
+                if (!chunk.isEmpty()) {
+                    text.append(chunk);
+                    onChunk.accept(chunk);
                 }
             }
-        } catch (IOException e) {
-            log.error("Error categorizing transaction with AI", e);
         }
-        
-        return "Other";
+        return text.toString().trim();
+    }
+
+    private Request completionRequest(String prompt, int maxTokens, double temperature, boolean stream) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", "gpt-4");
+        requestBody.addProperty("prompt", prompt);
+        requestBody.addProperty("max_tokens", maxTokens);
+        requestBody.addProperty("temperature", temperature);
+        if (stream) {
+            requestBody.addProperty("stream", true);
+        }
+
+        return new Request.Builder()
+            .url(apiConfig.getOpenaiApiUrl() + "/completions")
+            .addHeader("Authorization", "Bearer " + apiConfig.getOpenaiApiKey())
+            .addHeader("Content-Type", "application/json")
+            .post(RequestBody.create(gson.toJson(requestBody), JSON))
+            .build();
+    }
+
+    /**
+     * Send a completion request. Cancelling the returned future cancels the call.
+     */
+    private CompletableFuture<String> complete(String prompt, int maxTokens, double temperature) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Call call = httpClient.newCall(completionRequest(prompt, maxTokens, temperature, false));
+        result.whenComplete((text, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        result.completeExceptionally(new IOException("OpenAI API error: " + response.code()));
+                        return;
+                    }
+                    JsonObject jsonResponse = gson.fromJson(body.string(), JsonObject.class);
+                    result.complete(jsonResponse.getAsJsonArray("choices")
+                        .get(0).getAsJsonObject()
+                        .get("text").getAsString().trim());
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        return result;
     }
     
     private String buildPrompt(String userContext, String question) {
@@ -0,0 +1,156 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.PortfolioPerformanceDto;
+import com.budgetwise.dto.PortfolioSnapshotDto;
+import com.budgetwise.entity.PortfolioSnapshot;
+import com.budgetwise.repository.PortfolioSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio history and performance over arbitrary windows, computed from the
+ * daily snapshots taken by {@link PortfolioSnapshotJob} (see
+ * {@link PortfolioSeries}) rather than from the current holdings.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioAnalyticsService {
+
+    private final PortfolioSnapshotRepository snapshotRepository;
+
+    @Value("${portfolio.analytics.max-window-days:3660}")
+    private int maxWindowDays;
+
+    public List<PortfolioSnapshotDto> getHistory(Long userId, LocalDate from, LocalDate to) {
+        List<PortfolioSnapshot> snapshots = load(userId, from, to);
+        List<PortfolioSnapshotDto> history = new ArrayList<>(snapshots.size());
+        double[][] byType = new double[PortfolioSeries.TYPES.length][1];
+        for (PortfolioSnapshot snapshot : snapshots) {
+            for (double[] values : byType) {
+                values[0] = 0;
+            }
+            PortfolioSeries.parseTypeValues(snapshot.getTypeValues(), byType, 0);
+            Map<String, BigDecimal> typeValues = new HashMap<>();
+            for (int t = 0; t < byType.length; t++) {
+                if (byType[t][0] != 0) {
+                    typeValues.put(PortfolioSeries.TYPES[t].name(), money(byType[t][0]));
+                }
+            }
+            history.add(PortfolioSnapshotDto.builder()
+                    .date(snapshot.getSnapshotDate())
+                    .totalValue(snapshot.getTotalValue())
+                    .costBasis(snapshot.getCostBasis())
+                    .typeValues(typeValues)
+                    .build());
+        }
+        return history;
+    }
+
+    public PortfolioPerformanceDto getPerformance(Long userId, LocalDate from, LocalDate to) {
+        PortfolioSeries series = toSeries(load(userId, from, to));
+        int n = series.size();
+        if (n == 0) {
+            return PortfolioPerformanceDto.builder()
+                    .snapshots(0)
+                    .allocationStart(new HashMap<>())
+                    .allocationEnd(new HashMap<>())
+                    .allocationDrift(new HashMap<>())
+                    .build();
+        }
+
+        double twr = series.timeWeightedReturn();
+        long days = series.day(n - 1) - series.day(0);
+        BigDecimal annualized = days >= 365 && twr > -1
+                ? percent(Math.pow(1 + twr, 365.0 / days) - 1)
+                : null;
+
+        double[] drawdown = series.drawdown();
+        double[] drift = series.driftFromStart();
+        int maxDrift = 0;
+        for (int i = 1; i < n; i++) {
+            if (drift[i] > drift[maxDrift]) {
+                maxDrift = i;
+            }
+        }
+
+        double[] start = series.weights(0);
+        double[] end = series.weights(n - 1);
+        Map<String, BigDecimal> allocationStart = new LinkedHashMap<>();
+        Map<String, BigDecimal> allocationEnd = new LinkedHashMap<>();
+        Map<String, BigDecimal> allocationDrift = new LinkedHashMap<>();
+        for (int t = 0; t < start.length; t++) {
+            if (start[t] == 0 && end[t] == 0) {
+                continue;
+            }
+            String type = PortfolioSeries.TYPES[t].name();
+            allocationStart.put(type, percent(start[t]));
+            allocationEnd.put(type, percent(end[t]));
+            allocationDrift.put(type, percent(end[t] - start[t]));
+        }
+
+        return PortfolioPerformanceDto.builder()
+                .from(LocalDate.ofEpochDay(series.day(0)))
+                .to(LocalDate.ofEpochDay(series.day(n - 1)))
+                .snapshots(n)
+                .startValue(money(series.value(0)))
+                .endValue(money(series.value(n - 1)))
+                .netContributions(money(series.netFlows()))
+                .timeWeightedReturn(percent(twr))
+                .annualizedReturn(annualized)
+                .maxDrawdown(percent(drawdown[0]))
+                .drawdownPeakDate(drawdown[1] >= 0 ? LocalDate.ofEpochDay(series.day((int) drawdown[1])) : null)
+                .drawdownTroughDate(drawdown[2] >= 0 ? LocalDate.ofEpochDay(series.day((int) drawdown[2])) : null)
+                .currentDrawdown(percent(drawdown[3]))
+                .allocationStart(allocationStart)
+                .allocationEnd(allocationEnd)
+                .allocationDrift(allocationDrift)
+                .maxAllocationDrift(percent(drift[maxDrift]))
+                .maxAllocationDriftDate(maxDrift > 0 ? LocalDate.ofEpochDay(series.day(maxDrift)) : null)
+                .build();
+    }
+
+    private List<PortfolioSnapshot> load(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxWindowDays) {
+            throw new IllegalArgumentException("Window must not exceed " + maxWindowDays + " days");
+        }
+        return snapshotRepository.findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(userId, from, to);
+    }
+
+    private static PortfolioSeries toSeries(List<PortfolioSnapshot> snapshots) {
+        int n = snapshots.size();
+        long[] days = new long[n];
+        double[] values = new double[n];
+        double[] flows = new double[n];
+        double[][] byType = new double[PortfolioSeries.TYPES.length][n];
+        for (int i = 0; i < n; i++) {
+            PortfolioSnapshot snapshot = snapshots.get(i);
+            days[i] = snapshot.getSnapshotDate().toEpochDay();
+            values[i] = snapshot.getTotalValue().doubleValue();
+            flows[i] = snapshot.getNetFlow().doubleValue();
+            PortfolioSeries.parseTypeValues(snapshot.getTypeValues(), byType, i);
+        }
+        return new PortfolioSeries(days, values, flows, byType);
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double share) {
+        return BigDecimal.valueOf(share * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,191 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+
+import java.util.Locale;
+
+/**
+ * A user's daily portfolio snapshots as parallel primitive arrays, with the
+ * return and risk measures computed over them.
+ *
+ * Each snapshot carries the net flow of its period: the market value of
+ * holdings bought (or, when negative, sold) since the previous snapshot, taken
+ * as added at the end of the period. Returns are chained over these periods,
+ * so deposits and sales do not show up as gains or drawdowns.
+ */
+final class PortfolioSeries {
+
+    static final Investment.InvestmentType[] TYPES = Investment.InvestmentType.values();
+
+    private final long[] days;
+    private final double[] values;
+    /** Net flow of the period ending at each snapshot; the first one is not used */
+    private final double[] flows;
+    /** Value per investment type, indexed [type ordinal][snapshot] */
+    private final double[][] typeValues;
+
+    PortfolioSeries(long[] days, double[] values, double[] flows, double[][] typeValues) {
+        this.days = days;
+        this.values = values;
+        this.flows = flows;
+        this.typeValues = typeValues;
+    }
+
+    int size() {
+        return days.length;
+    }
+
+    long day(int i) {
+        return days[i];
+    }
+
+    double value(int i) {
+        return values[i];
+    }
+
+    /**
+     * Net amount added over the series, at market value
+     */
+    double netFlows() {
+        double sum = 0;
+        for (int i = 1; i < flows.length; i++) {
+            sum += flows[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Growth of one unit invested at the first snapshot, per snapshot. Periods
+     * that start with nothing invested leave the index unchanged.
+     */
+    double[] growthIndex() {
+        double[] growth = new double[days.length];
+        if (growth.length == 0) {
+            return growth;
+        }
+        growth[0] = 1.0;
+        for (int i = 1; i < growth.length; i++) {
+            double start = values[i - 1];
+            double ratio = start > 0 ? Math.max(0, (values[i] - flows[i]) / start) : 1.0;
+            growth[i] = growth[i - 1] * ratio;
+        }
+        return growth;
+    }
+
+    /**
+     * Time-weighted return over the whole series, as a fraction
+     */
+    double timeWeightedReturn() {
+        double[] growth = growthIndex();
+        return growth.length == 0 ? 0 : growth[growth.length - 1] - 1;
+    }
+
+    /**
+     * Largest peak-to-trough fall of the growth index.
+     *
+     * @return {max drawdown fraction, peak index, trough index, current drawdown fraction};
+     *         the indexes are -1 when the index never fell
+     */
+    double[] drawdown() {
+        double[] growth = growthIndex();
+        double max = 0;
+        int maxPeak = -1;
+        int maxTrough = -1;
+        int peak = 0;
+        for (int i = 1; i < growth.length; i++) {
+            if (growth[i] >= growth[peak]) {
+                peak = i;
+                continue;
+            }
+            double fall = growth[peak] > 0 ? 1 - growth[i] / growth[peak] : 0;
+            if (fall > max) {
+                max = fall;
+                maxPeak = peak;
+                maxTrough = i;
+            }
+        }
+        double current = growth.length > 0 && growth[peak] > 0 ? 1 - growth[growth.length - 1] / growth[peak] : 0;
+        return new double[] { max, maxPeak, maxTrough, current };
+    }
+
+    /**
+     * Share of the portfolio per investment type at a snapshot, all zero if the
+     * portfolio was empty
+     */
+    double[] weights(int i) {
+        double[] weights = new double[TYPES.length];
+        if (values[i] > 0) {
+            for (int t = 0; t < weights.length; t++) {
+                weights[t] = typeValues[t][i] / values[i];
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Total drift of each snapshot's allocation from the first one: half the
+     * sum of the absolute weight changes, i.e. the share of the portfolio that
+     * would have to move between types to restore the starting allocation.
+     */
+    double[] driftFromStart() {
+        double[] drift = new double[days.length];
+        if (drift.length == 0) {
+            return drift;
+        }
+        double[] start = weights(0);
+        for (int i = 1; i < drift.length; i++) {
+            double[] weights = weights(i);
+            double sum = 0;
+            for (int t = 0; t < start.length; t++) {
+                sum += Math.abs(weights[t] - start[t]);
+            }
+            drift[i] = sum / 2;
+        }
+        return drift;
+    }
+
+    /**
+     * Type values in the snapshot storage format, {@code TYPE:value} pairs
+     * separated by commas with zero values left out
+     */
+    static String formatTypeValues(double[] byType) {
+        StringBuilder text = new StringBuilder();
+        for (int t = 0; t < byType.length; t++) {
+            if (byType[t] != 0) {
+                if (text.length() > 0) {
+                    text.append(',');
+                }
+                text.append(TYPES[t].name()).append(':').append(String.format(Locale.ROOT, "%.2f", byType[t]));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parse stored type values into {@code target[type ordinal][index]};
+     * unknown types are ignored.
+     */
+    static void parseTypeValues(String text, double[][] target, int index) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf(',', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            int colon = text.indexOf(':', start);
+            if (colon > start && colon < end) {
+                String type = text.substring(start, colon);
+                for (int t = 0; t < TYPES.length; t++) {
+                    if (TYPES[t].name().equals(type)) {
+                        target[t][index] = Double.parseDouble(text.substring(colon + 1, end));
+                        break;
+                    }
+                }
+            }
+            start = end + 1;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import com.budgetwise.entity.PortfolioSnapshot;
+import com.budgetwise.repository.InvestmentRepository;
+import com.budgetwise.repository.PortfolioSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records each user's portfolio value, cost basis and value per investment
+ * type once a day, after the last price refresh. Users are walked in id order
+ * one page per database transaction; a day's snapshot is overwritten if the
+ * job runs again the same day, so it is also taken on startup.
+ *
+ * The net flow of each snapshot comes from comparing its holdings with the
+ * previous snapshot's: quantity bought is valued at today's price and a
+ * holding that is gone at its last recorded price. A user who sold everything
+ * gets one closing snapshot of an empty portfolio.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioSnapshotJob {
+
+    private final InvestmentRepository investmentRepository;
+    private final PortfolioSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${portfolio.snapshot.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void snapshotOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${portfolio.snapshot.cron:0 50 23 * * *}")
+    public void run() {
+        try {
+            int users = snapshot(LocalDate.now());
+            if (users > 0) {
+                log.info("Portfolio snapshot: {} users", users);
+            }
+        } catch (RuntimeException e) {
+            log.error("Portfolio snapshot failed", e);
+        }
+    }
+
+    int snapshot(LocalDate date) {
+        int total = 0;
+        long afterId = 0L;
+
+        List<Long> userIds;
+        do {
+            userIds = snapshotRepository.findUserIdsToSnapshotAfter(afterId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = userIds;
+            Integer taken = transactionTemplate.execute(status -> snapshotUsers(batch, date));
+            total += taken != null ? taken : 0;
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == batchSize);
+        return total;
+    }
+
+    private int snapshotUsers(List<Long> userIds, LocalDate date) {
+        Map<Long, List<Investment>> holdings = investmentRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(Investment::getUserId));
+        Map<Long, PortfolioSnapshot> existing = snapshotRepository.findByUserIdInAndSnapshotDate(userIds, date).stream()
+                .collect(Collectors.toMap(PortfolioSnapshot::getUserId, Function.identity()));
+        Map<Long, PortfolioSnapshot> previous = snapshotRepository.findLatestBefore(userIds, date).stream()
+                .collect(Collectors.toMap(PortfolioSnapshot::getUserId, Function.identity()));
+
+        List<PortfolioSnapshot> snapshots = new ArrayList<>();
+        for (Long userId : userIds) {
+            List<Investment> investments = holdings.getOrDefault(userId, List.of());
+            PortfolioSnapshot last = previous.get(userId);
+            boolean heldBefore = last != null && last.getTotalValue().signum() > 0;
+            if (investments.isEmpty() && !heldBefore && !existing.containsKey(userId)) {
+                // Nothing held now or at the last snapshot; the closing snapshot was already taken
+                continue;
+            }
+            PortfolioSnapshot snapshot = existing.getOrDefault(userId, new PortfolioSnapshot());
+            snapshot.setUserId(userId);
+            snapshot.setSnapshotDate(date);
+            fill(snapshot, investments, last);
+            snapshots.add(snapshot);
+        }
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    private static void fill(PortfolioSnapshot snapshot, List<Investment> investments, PortfolioSnapshot previous) {
+        BigDecimal value = BigDecimal.ZERO;
+        BigDecimal cost = BigDecimal.ZERO;
+        double[] byType = new double[PortfolioSeries.TYPES.length];
+        for (Investment inv : investments) {
+            BigDecimal current = price(inv).multiply(inv.getQuantity());
+            value = value.add(current);
+            cost = cost.add(inv.getBuyPrice().multiply(inv.getQuantity()));
+            byType[inv.getType().ordinal()] += current.doubleValue();
+        }
+        snapshot.setTotalValue(value.setScale(2, RoundingMode.HALF_UP));
+        snapshot.setCostBasis(cost.setScale(2, RoundingMode.HALF_UP));
+        snapshot.setTypeValues(PortfolioSeries.formatTypeValues(byType));
+        snapshot.setHoldings(formatHoldings(investments));
+
+        snapshot.setNetFlow(previous == null
+                ? BigDecimal.ZERO
+                : netFlow(parseHoldings(previous.getHoldings()), investments).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Market value bought minus sold between the previous holdings and the
+     * current investments: added quantity at today's price, removed quantity
+     * at today's price while the holding exists and at its last recorded
+     * price once it is gone.
+     *
+     * @param previous quantity and price per investment id at the previous snapshot
+     */
+    static BigDecimal netFlow(Map<Long, BigDecimal[]> previous, List<Investment> investments) {
+        Map<Long, BigDecimal[]> gone = new HashMap<>(previous);
+        BigDecimal flow = BigDecimal.ZERO;
+        for (Investment inv : investments) {
+            BigDecimal[] before = gone.remove(inv.getId());
+            BigDecimal previousQuantity = before != null ? before[0] : BigDecimal.ZERO;
+            flow = flow.add(inv.getQuantity().subtract(previousQuantity).multiply(price(inv)));
+        }
+        for (BigDecimal[] sold : gone.values()) {
+            flow = flow.subtract(sold[0].multiply(sold[1]));
+        }
+        return flow;
+    }
+
+    private static BigDecimal price(Investment inv) {
+        return inv.getCurrentPrice() != null ? inv.getCurrentPrice() : inv.getBuyPrice();
+    }
+
+    /**
+     * Holdings in the snapshot storage format, {@code id:quantity:price}
+     * triples separated by commas
+     */
+    static String formatHoldings(List<Investment> investments) {
+        StringBuilder text = new StringBuilder();
+        for (Investment inv : investments) {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(inv.getId()).append(':').append(inv.getQuantity().toPlainString())
+                    .append(':').append(price(inv).toPlainString());
+        }
+        return text.toString();
+    }
+
+    static Map<Long, BigDecimal[]> parseHoldings(String text) {
+        Map<Long, BigDecimal[]> holdings = new HashMap<>();
+        if (text == null || text.isEmpty()) {
+            return holdings;
+        }
+        for (String holding : text.split(",")) {
+            String[] parts = holding.split(":");
+            if (parts.length == 3) {
+                holdings.put(Long.parseLong(parts[0]),
+                        new BigDecimal[] { new BigDecimal(parts[1]), new BigDecimal(parts[2]) });
+            }
+        }
+        return holdings;
+    }
+}
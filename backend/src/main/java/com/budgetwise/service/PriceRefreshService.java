@@ -0,0 +1,106 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import com.budgetwise.repository.InvestmentRepository;
+import com.budgetwise.service.MarketQuoteClient.Quote;
+import com.budgetwise.service.MarketQuoteClient.QuoteKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps investment prices current. Holdings of all users are reduced to their
+ * distinct symbols, quotes come from the shared {@link QuoteCache}, and every
+ * holding of a symbol is updated with a single statement. Symbols whose quote
+ * is oldest are requested first, so when the provider quota cannot cover all
+ * of them in one run, the next run continues with the rest. The scheduled run
+ * waits for new quotes rather than taking stale ones from the cache, so stored
+ * prices are at most one run old.
+ */
+@Service
+@Slf4j
+public class PriceRefreshService {
+
+    private static final Set<Investment.InvestmentType> QUOTED_TYPES = EnumSet.of(
+            Investment.InvestmentType.STOCK, Investment.InvestmentType.MUTUAL_FUND, Investment.InvestmentType.CRYPTO);
+
+    private final InvestmentRepository investmentRepository;
+    private final QuoteCache quoteCache;
+    private final Duration refreshTimeout;
+    private final Duration requestTimeout;
+    private final Duration refreshMaxQuoteAge;
+
+    public PriceRefreshService(InvestmentRepository investmentRepository,
+                               QuoteCache quoteCache,
+                               @Value("${market.price.refresh-timeout-ms:300000}") long refreshTimeoutMs,
+                               @Value("${market.price.request-timeout-ms:10000}") long requestTimeoutMs,
+                               @Value("${market.price.refresh-max-quote-age-ms:60000}") long refreshMaxQuoteAgeMs) {
+        this.investmentRepository = investmentRepository;
+        this.quoteCache = quoteCache;
+        this.refreshTimeout = Duration.ofMillis(refreshTimeoutMs);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.refreshMaxQuoteAge = Duration.ofMillis(refreshMaxQuoteAgeMs);
+    }
+
+    @Scheduled(cron = "${market.price.refresh-cron:0 */15 * * * *}")
+    public void refreshAll() {
+        Map<QuoteKey, List<String>> symbols = new HashMap<>();
+        for (Object[] row : investmentRepository.findDistinctSymbols(QUOTED_TYPES)) {
+            String symbol = (String) row[0];
+            if (!symbol.isBlank()) {
+                symbols.computeIfAbsent(new QuoteKey(symbol, (Investment.InvestmentType) row[1]),
+                        key -> new ArrayList<>()).add(symbol);
+            }
+        }
+        // Quotes fetched moments ago, e.g. for a user's refresh, are reused; older ones are fetched again
+        int updated = store(symbols, quoteCache.getAllFresh(symbols.keySet(), refreshTimeout, refreshMaxQuoteAge));
+        if (updated > 0) {
+            log.info("Price refresh: {} symbols, {} holdings updated", symbols.size(), updated);
+        }
+    }
+
+    /**
+     * Refresh the prices of the user's holdings, waiting at most the request
+     * timeout for quotes. Holdings of the same symbols held by other users are
+     * updated as well.
+     */
+    public int refreshForUser(Long userId) {
+        Map<QuoteKey, List<String>> symbols = new HashMap<>();
+        for (Investment investment : investmentRepository.findByUserIdOrderByPurchaseDateDesc(userId)) {
+            String symbol = investment.getSymbol();
+            if (symbol != null && !symbol.isBlank() && QUOTED_TYPES.contains(investment.getType())) {
+                List<String> raw = symbols.computeIfAbsent(new QuoteKey(symbol, investment.getType()),
+                        key -> new ArrayList<>());
+                if (!raw.contains(symbol)) {
+                    raw.add(symbol);
+                }
+            }
+        }
+        return store(symbols, quoteCache.getAll(symbols.keySet(), requestTimeout));
+    }
+
+    /**
+     * @param symbols the holdings' symbols as stored, by the quote they take their price from
+     */
+    private int store(Map<QuoteKey, List<String>> symbols, Map<QuoteKey, Quote> quotes) {
+        int updated = 0;
+        for (Map.Entry<QuoteKey, Quote> entry : quotes.entrySet()) {
+            BigDecimal price = entry.getValue().price().setScale(2, RoundingMode.HALF_UP);
+            for (String symbol : symbols.get(entry.getKey())) {
+                updated += investmentRepository.updatePriceForSymbol(symbol, entry.getKey().type(), price);
+            }
+        }
+        return updated;
+    }
+}
@@ -13,10 +13,13 @@ public class ProfileService {
 
     private final UserProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final FinancialFactsService financialFactsService;
 
-    public ProfileService(UserProfileRepository profileRepository, UserRepository userRepository) {
+    public ProfileService(UserProfileRepository profileRepository, UserRepository userRepository,
+                          FinancialFactsService financialFactsService) {
         this.profileRepository = profileRepository;
         this.userRepository = userRepository;
+        this.financialFactsService = financialFactsService;
     }
 
     /**
@@ -62,6 +65,7 @@ public class ProfileService {
         updateProfileFromDto(profile, profileDto);
 
         UserProfile savedProfile = profileRepository.save(profile);
+        financialFactsService.invalidate(userId);
         return mapToDto(savedProfile);
     }
 
@@ -76,6 +80,7 @@ public class ProfileService {
         updateProfileFromDto(profile, profileDto);
 
         UserProfile updatedProfile = profileRepository.save(profile);
+        financialFactsService.invalidate(userId);
         return mapToDto(updatedProfile);
     }
 
@@ -0,0 +1,218 @@
+package com.budgetwise.service;
+
+import com.budgetwise.http.ProviderUnavailableException;
+import com.budgetwise.service.MarketQuoteClient.Quote;
+import com.budgetwise.service.MarketQuoteClient.QuoteKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Process-wide cache of market quotes, so provider calls scale with distinct
+ * symbols rather than with users or requests.
+ * <ul>
+ *   <li>Concurrent misses for the same symbol share one in-flight call.</li>
+ *   <li>A quote older than the TTL but within the stale window is served as is
+ *       while one background call revalidates it.</li>
+ *   <li>Unknown symbols and failed calls are remembered for the negative TTL,
+ *       during which the symbol is not requested again; a failed revalidation
+ *       keeps serving the stale quote.</li>
+ * </ul>
+ * Lookups complete with null when no quote is available.
+ */
+@Component
+@Slf4j
+public class QuoteCache {
+
+    private final MarketQuoteClient client;
+    private final long ttlMs;
+    private final long staleMs;
+    private final long negativeTtlMs;
+    private final int maxEntries;
+    private final Map<QuoteKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<QuoteKey, CompletableFuture<Quote>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param quote    last good quote, null if there never was one
+     * @param failedAt when the last call failed or found nothing, 0 if the last call succeeded
+     */
+    private record Entry(Quote quote, long loadedAt, long failedAt) {
+    }
+
+    public QuoteCache(MarketQuoteClient client,
+                      @Value("${market.quote-cache.ttl-ms:900000}") long ttlMs,
+                      @Value("${market.quote-cache.stale-ms:3600000}") long staleMs,
+                      @Value("${market.quote-cache.negative-ttl-ms:300000}") long negativeTtlMs,
+                      @Value("${market.quote-cache.max-entries:10000}") int maxEntries) {
+        this.client = client;
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Quote for the key, loading it if needed with at most {@code maxQuotaWait}
+     * spent waiting for provider quota.
+     */
+    public CompletableFuture<Quote> get(QuoteKey key, Duration maxQuotaWait) {
+        return get(key, maxQuotaWait, ttlMs, true);
+    }
+
+    /**
+     * @param maxAgeMs   age up to which a cached quote is served without a call
+     * @param serveStale whether an older quote within the stale window is served
+     *                   at once while it is revalidated in the background, rather
+     *                   than after the call, which falls back to it if it fails
+     */
+    private CompletableFuture<Quote> get(QuoteKey key, Duration maxQuotaWait, long maxAgeMs, boolean serveStale) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        boolean recentlyFailed = entry != null && entry.failedAt() > 0 && now - entry.failedAt() < negativeTtlMs;
+
+        if (entry != null && entry.quote() != null) {
+            long age = now - entry.loadedAt();
+            if (age < maxAgeMs) {
+                return CompletableFuture.completedFuture(entry.quote());
+            }
+            if (age < ttlMs + staleMs && (serveStale || recentlyFailed)) {
+                if (!recentlyFailed) {
+                    load(key, maxQuotaWait);
+                }
+                return CompletableFuture.completedFuture(entry.quote());
+            }
+        }
+        if (recentlyFailed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return load(key, maxQuotaWait);
+    }
+
+    /**
+     * Quotes for all keys that are available within the timeout. Keys with the
+     * oldest or no cached quote are requested first, so they get the quota.
+     */
+    public Map<QuoteKey, Quote> getAll(Collection<QuoteKey> keys, Duration timeout) {
+        return getAll(keys, timeout, ttlMs, true);
+    }
+
+    /**
+     * Like {@link #getAll(Collection, Duration)}, but every quote older than
+     * {@code maxAge} is revalidated and waited for instead of being served
+     * stale. For refreshes that exist to replace old quotes.
+     */
+    public Map<QuoteKey, Quote> getAllFresh(Collection<QuoteKey> keys, Duration timeout, Duration maxAge) {
+        return getAll(keys, timeout, maxAge.toMillis(), false);
+    }
+
+    private Map<QuoteKey, Quote> getAll(Collection<QuoteKey> keys, Duration timeout, long maxAgeMs,
+                                        boolean serveStale) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<QuoteKey> ordered = new ArrayList<>(keys);
+        ordered.sort(Comparator.comparingLong(key -> {
+            Entry entry = entries.get(key);
+            return entry != null && entry.quote() != null ? entry.loadedAt() : 0L;
+        }));
+
+        Map<QuoteKey, CompletableFuture<Quote>> pending = new HashMap<>();
+        for (QuoteKey key : ordered) {
+            pending.put(key, get(key, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())), maxAgeMs,
+                    serveStale));
+        }
+
+        Map<QuoteKey, Quote> quotes = new HashMap<>();
+        for (Map.Entry<QuoteKey, CompletableFuture<Quote>> entry : pending.entrySet()) {
+            try {
+                Quote quote = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (quote != null) {
+                    quotes.put(entry.getKey(), quote);
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                // Left out; the call keeps running and fills the cache when it completes
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return quotes;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private CompletableFuture<Quote> load(QuoteKey key, Duration maxQuotaWait) {
+        CompletableFuture<Quote> created = new CompletableFuture<>();
+        CompletableFuture<Quote> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<Quote> call;
+        try {
+            call = client.fetch(key, maxQuotaWait);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((quote, error) -> {
+            // Record the result before releasing the key so later lookups see it
+            Quote result = record(key, quote, error);
+            inFlight.remove(key, created);
+            created.complete(result);
+        });
+        return created;
+    }
+
+    private Quote record(QuoteKey key, Quote quote, Throwable error) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictExpired(now);
+        }
+
+        if (error == null && quote != null) {
+            entries.put(key, new Entry(quote, now, 0));
+            return quote;
+        }
+
+        Entry previous = entries.get(key);
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof MarketQuoteClient.QuotaExceededException || cause instanceof ProviderUnavailableException) {
+            // Not the symbol's fault: leave the entry alone so the next lookup tries again
+            return previous != null && previous.quote() != null && now - previous.loadedAt() < ttlMs + staleMs
+                    ? previous.quote() : null;
+        }
+        if (error != null) {
+            log.warn("Quote for {} unavailable: {}", key.symbol(), cause.getMessage());
+        }
+        if (error != null && previous != null && previous.quote() != null) {
+            // Keep serving the last good quote through the stale window
+            entries.put(key, new Entry(previous.quote(), previous.loadedAt(), now));
+            return now - previous.loadedAt() < ttlMs + staleMs ? previous.quote() : null;
+        }
+        entries.put(key, new Entry(null, 0, now));
+        return null;
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.quote() != null
+                ? now - entry.loadedAt() >= ttlMs + staleMs
+                : now - entry.failedAt() >= negativeTtlMs);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+}
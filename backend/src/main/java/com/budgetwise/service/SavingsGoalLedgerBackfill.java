@@ -0,0 +1,69 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.SavingsGoal;
+import com.budgetwise.repository.SavingsGoalRepository;
+import com.budgetwise.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Links goal contributions and withdrawals recorded before transactions carried
+ * a goal id. Matching uses the description the goal wrote at the time; if a
+ * user has several goals with the same name, the oldest goal claims them. Only
+ * unlinked rows are touched, so the job can safely run again and is switched
+ * off with {@code savings.goal-ledger.backfill.enabled=false} once done.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SavingsGoalLedgerBackfill {
+
+    private final SavingsGoalRepository savingsGoalRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${savings.goal-ledger.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${savings.goal-ledger.backfill.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int linked = backfill();
+            if (linked > 0) {
+                log.info("Savings goal ledger backfill linked {} transactions", linked);
+            }
+        } catch (RuntimeException e) {
+            log.error("Savings goal ledger backfill failed", e);
+        }
+    }
+
+    int backfill() {
+        PageRequest page = PageRequest.of(0, batchSize);
+        int total = 0;
+        long afterId = 0L;
+
+        List<SavingsGoal> goals;
+        do {
+            goals = savingsGoalRepository.findByIdGreaterThanOrderByIdAsc(afterId, page);
+            for (SavingsGoal goal : goals) {
+                total += transactionRepository.linkGoalTransactions(goal.getId(), goal.getUserId(), List.of(
+                        SavingsGoalService.CONTRIBUTION_PREFIX + goal.getName(),
+                        SavingsGoalService.WITHDRAWAL_PREFIX + goal.getName()));
+                afterId = goal.getId();
+            }
+        } while (goals.size() == batchSize);
+        return total;
+    }
+}
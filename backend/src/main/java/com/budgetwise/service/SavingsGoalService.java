@@ -1,6 +1,7 @@
 package com.budgetwise.service;
 
 import com.budgetwise.dto.ContributionRequest;
+import com.budgetwise.dto.GoalContributionDto;
 import com.budgetwise.dto.SavingsGoalDto;
 import com.budgetwise.entity.SavingsGoal;
 import com.budgetwise.exception.ResourceNotFoundException;
@@ -21,8 +22,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SavingsGoalService {
 
+    static final String CONTRIBUTION_PREFIX = "Savings Goal Contribution: ";
+    static final String WITHDRAWAL_PREFIX = "Withdrawal from Savings Goal: ";
+
     private final SavingsGoalRepository savingsGoalRepository;
     private final com.budgetwise.repository.TransactionRepository transactionRepository;
+    private final FinancialFactsService financialFactsService;
 
     @Transactional
     public SavingsGoalDto createGoal(SavingsGoalDto dto, Long userId) {
@@ -40,6 +45,8 @@ public class SavingsGoalService {
         goal.setStatus(SavingsGoal.GoalStatus.ACTIVE);
 
         SavingsGoal saved = savingsGoalRepository.save(goal);
+
+        financialFactsService.invalidate(userId);
         return mapToDto(saved);
     }
 
@@ -61,6 +68,25 @@ public class SavingsGoalService {
         return mapToDto(goal);
     }
 
+    /**
+     * Contributions and withdrawals recorded against the goal, oldest first
+     */
+    public List<GoalContributionDto> getContributions(Long id, Long userId) {
+        SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found"));
+
+        return transactionRepository.findByGoalIdOrderByTransactionDateAscIdAsc(goal.getId()).stream()
+                .map(t -> GoalContributionDto.builder()
+                        .transactionId(t.getId())
+                        .type(t.getType() == com.budgetwise.entity.Transaction.TransactionType.EXPENSE
+                                ? GoalContributionDto.EntryType.CONTRIBUTION
+                                : GoalContributionDto.EntryType.WITHDRAWAL)
+                        .amount(t.getAmount())
+                        .date(t.getTransactionDate())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public SavingsGoalDto updateGoal(Long id, SavingsGoalDto dto, Long userId) {
         SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
@@ -84,6 +110,8 @@ public class SavingsGoalService {
         }
 
         SavingsGoal updated = savingsGoalRepository.save(goal);
+
+        financialFactsService.invalidate(userId);
         return mapToDto(updated);
     }
 
@@ -107,13 +135,16 @@ public class SavingsGoalService {
 
         SavingsGoal updated = savingsGoalRepository.save(goal);
 
+        financialFactsService.invalidate(userId);
+
         // Create transaction for the contribution
         com.budgetwise.entity.Transaction transaction = new com.budgetwise.entity.Transaction();
         transaction.setUserId(userId);
         transaction.setType(com.budgetwise.entity.Transaction.TransactionType.EXPENSE);
         transaction.setAmount(request.getAmount());
         transaction.setCategoryId(null);
-        transaction.setDescription("Savings Goal Contribution: " + goal.getName());
+        transaction.setDescription(CONTRIBUTION_PREFIX + goal.getName());
+        transaction.setGoalId(goal.getId());
         transaction.setTransactionDate(LocalDate.now());
         transaction.setIsAnomaly(false);
 
@@ -142,13 +173,16 @@ public class SavingsGoalService {
 
         SavingsGoal updated = savingsGoalRepository.save(goal);
 
+        financialFactsService.invalidate(userId);
+
         // Create transaction for the withdrawal (INCOME as money comes back to user)
         com.budgetwise.entity.Transaction transaction = new com.budgetwise.entity.Transaction();
         transaction.setUserId(userId);
         transaction.setType(com.budgetwise.entity.Transaction.TransactionType.INCOME);
         transaction.setAmount(request.getAmount());
         transaction.setCategoryId(null);
-        transaction.setDescription("Withdrawal from Savings Goal: " + goal.getName());
+        transaction.setDescription(WITHDRAWAL_PREFIX + goal.getName());
+        transaction.setGoalId(goal.getId());
         transaction.setTransactionDate(LocalDate.now());
         transaction.setIsAnomaly(false);
 
@@ -163,22 +197,14 @@ public class SavingsGoalService {
         SavingsGoal goal = savingsGoalRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Savings goal not found"));
 
-        // Find all transactions related to this goal and convert them to INCOME
+        // Convert the goal's contributions to INCOME
         // This returns the money to the user's available balance
-        String goalContributionPattern = "Savings Goal Contribution: " + goal.getName();
-        java.util.List<com.budgetwise.entity.Transaction> relatedTransactions = transactionRepository
-                .findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .filter(t -> t.getDescription() != null && t.getDescription().equals(goalContributionPattern))
-                .collect(java.util.stream.Collectors.toList());
-
-        for (com.budgetwise.entity.Transaction transaction : relatedTransactions) {
-            // Convert EXPENSE to INCOME (money returned)
-            transaction.setType(com.budgetwise.entity.Transaction.TransactionType.INCOME);
-            transaction.setDescription("Savings Goal Deleted: " + goal.getName() + " (Returned)");
-            transactionRepository.save(transaction);
-        }
+        transactionRepository.returnGoalContributions(goal.getId(), "Savings Goal Deleted: " + goal.getName() + " (Returned)");
+        transactionRepository.unlinkGoal(goal.getId());
 
         savingsGoalRepository.delete(goal);
+
+        financialFactsService.invalidate(userId);
     }
 
     private SavingsGoalDto mapToDto(SavingsGoal goal) {
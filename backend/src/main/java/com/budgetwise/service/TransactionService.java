@@ -24,7 +24,9 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
     private final BudgetService budgetService;
-    private final WebSocketService webSocketService;
+    private final DashboardPushCoalescer dashboardPushCoalescer;
+    private final CategorizationModelService categorizationModelService;
+    private final FinancialFactsService financialFactsService;
 
     @Transactional
     @CacheEvict(value = { "dashboard_summary", "dashboard_trends", "dashboard_breakdown" }, allEntries = true)
@@ -43,14 +45,15 @@ public class TransactionService {
         transaction.setIsAnomaly(false);
 
         Transaction saved = transactionRepository.save(transaction);
+        financialFactsService.invalidate(userId);
 
         // Update budget progress if expense
         if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
             budgetService.updateBudgetProgress(userId, transaction.getCategoryId());
         }
 
-        // Send WebSocket notification
-        webSocketService.sendDashboardUpdate(userId);
+        // Push the change to the user's dashboard
+        dashboardPushCoalescer.recordChange(userId, saved.getType(), saved.getCategoryId(), saved.getAmount());
 
         return mapToDto(saved, category.getName());
     }
@@ -109,6 +112,7 @@ public class TransactionService {
 
         Transaction.TransactionType oldType = transaction.getType();
         Long oldCategoryId = transaction.getCategoryId();
+        BigDecimal oldAmount = transaction.getAmount();
 
         transaction.setType(dto.getType());
         transaction.setAmount(dto.getAmount());
@@ -117,6 +121,12 @@ public class TransactionService {
         transaction.setTransactionDate(dto.getTransactionDate());
 
         Transaction updated = transactionRepository.save(transaction);
+        financialFactsService.invalidate(userId);
+
+        // Moving a transaction to another category is a correction the categorizer learns from
+        if (updated.getCategoryId() != null && !updated.getCategoryId().equals(oldCategoryId)) {
+            categorizationModelService.learnCorrection(userId, updated.getDescription(), updated.getCategoryId());
+        }
 
         // Update budget progress
         if (oldType == Transaction.TransactionType.EXPENSE) {
@@ -126,6 +136,9 @@ public class TransactionService {
             budgetService.updateBudgetProgress(userId, updated.getCategoryId());
         }
 
+        dashboardPushCoalescer.recordChange(userId, oldType, oldCategoryId, oldAmount.negate());
+        dashboardPushCoalescer.recordChange(userId, updated.getType(), updated.getCategoryId(), updated.getAmount());
+
         return mapToDto(updated);
     }
 
@@ -143,11 +156,14 @@ public class TransactionService {
         Long categoryId = transaction.getCategoryId();
 
         transactionRepository.delete(transaction);
+        financialFactsService.invalidate(userId);
 
         // Update budget progress
         if (type == Transaction.TransactionType.EXPENSE) {
             budgetService.updateBudgetProgress(userId, categoryId);
         }
+
+        dashboardPushCoalescer.recordChange(userId, type, categoryId, transaction.getAmount().negate());
     }
 
     private TransactionDto mapToDto(Transaction transaction) {
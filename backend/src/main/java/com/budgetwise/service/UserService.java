@@ -1,11 +1,12 @@
 package com.budgetwise.service;
 
+import com.budgetwise.entity.AccountDeletionJob;
 import com.budgetwise.entity.User;
 import com.budgetwise.repository.UserRepository;
+import com.budgetwise.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -13,14 +14,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AccountDeletionService accountDeletionService;
+    private final TokenRevocationService tokenRevocationService;
 
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
 
-    @Transactional
-    public void deleteUserAccount(Long userId, String password) {
+    /**
+     * Verify the password and hand the account over to the background deletion
+     * job. The account is deactivated straight away; its data is removed in batches.
+     */
+    public AccountDeletionJob deleteUserAccount(Long userId, String password) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
 
@@ -29,6 +35,10 @@ public class UserService {
             throw new RuntimeException("Invalid password");
         }
 
-        userRepository.delete(user);
+        user.setIsActive(false);
+        userRepository.save(user);
+        tokenRevocationService.revokeAll(userId);
+
+        return accountDeletionService.scheduleDeletion(userId);
     }
 }
@@ -0,0 +1,59 @@
+package com.budgetwise.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Fans WebSocket messages out to every backend instance through Redis pub/sub.
+ * A message is published once and each instance, including the sender,
+ * delivers it to whichever of its local sessions subscribed to the destination.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketRedisBridge implements MessageListener {
+
+    public static final String CHANNEL = "budgetwise:websocket";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void publish(String destination, Object payload) {
+        try {
+            String envelope = objectMapper.writeValueAsString(Map.of("destination", destination, "payload", payload));
+            redisTemplate.convertAndSend(CHANNEL, envelope);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize WebSocket message for {}", destination, e);
+        } catch (RuntimeException e) {
+            // Redis unavailable: still reach sessions connected to this instance
+            log.warn("Redis WebSocket bridge unavailable, delivering locally: {}", e.getMessage());
+            messagingTemplate.convertAndSend(destination, payload);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode envelope = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            String destination = envelope.path("destination").asText();
+            JsonNode payload = envelope.path("payload");
+            if (payload.isTextual()) {
+                messagingTemplate.convertAndSend(destination, payload.asText());
+            } else {
+                messagingTemplate.convertAndSend(destination, payload);
+            }
+        } catch (Exception e) {
+            log.warn("Dropping malformed WebSocket bridge message", e);
+        }
+    }
+}
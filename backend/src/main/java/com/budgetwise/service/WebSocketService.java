@@ -1,6 +1,8 @@
 package com.budgetwise.service;
 
+import com.budgetwise.dto.DashboardUpdateDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -9,16 +11,30 @@ import org.springframework.stereotype.Service;
 public class WebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectProvider<WebSocketRedisBridge> redisBridge;
 
     public void sendDashboardUpdate(Long userId) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/dashboard", "refresh");
+        send("/topic/user/" + userId + "/dashboard", "refresh");
+    }
+
+    public void sendDashboardDelta(Long userId, DashboardUpdateDto update) {
+        send("/topic/user/" + userId + "/dashboard", update);
     }
 
     public void sendBudgetAlert(Long userId, String message) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/alerts", message);
+        send("/topic/user/" + userId + "/alerts", message);
     }
 
     public void sendNotification(Long userId, String notification) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId + "/notifications", notification);
+        send("/topic/user/" + userId + "/notifications", notification);
+    }
+
+    private void send(String destination, Object payload) {
+        WebSocketRedisBridge bridge = redisBridge.getIfAvailable();
+        if (bridge != null) {
+            bridge.publish(destination, payload);
+        } else {
+            messagingTemplate.convertAndSend(destination, payload);
+        }
     }
 }
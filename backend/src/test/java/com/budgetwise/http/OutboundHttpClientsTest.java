@@ -0,0 +1,178 @@
+package com.budgetwise.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs provider clients against a local stub that answers with the status
+ * codes queued in {@link #failuresBeforeSuccess}, then 200.
+ */
+public class OutboundHttpClientsTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile long responseDelayMs;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int status = failuresBeforeSuccess.getAndDecrement() > 0 ? 503 : 200;
+            byte[] body = "{}".getBytes();
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private static OutboundPolicy policy(int maxConcurrentCalls, int maxAttempts, int windowSize, Duration openDuration) {
+        return new OutboundPolicy(Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofSeconds(10),
+                maxConcurrentCalls, Duration.ZERO, maxAttempts, Duration.ofMillis(5), Duration.ofMillis(20), false,
+                50, windowSize, windowSize, openDuration, 1);
+    }
+
+    private OkHttpClient client(OutboundPolicy policy) {
+        return new OutboundHttpClients(new OkHttpClient(), new StandardEnvironment(), meterRegistry)
+                .build("stub", policy);
+    }
+
+    private Request get() {
+        return new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/").build();
+    }
+
+    @Test
+    public void testGet_RetriesServerErrors() throws Exception {
+        failuresBeforeSuccess.set(2);
+        OkHttpClient client = client(policy(4, 3, 20, Duration.ofMinutes(1)));
+
+        try (Response response = client.newCall(get()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(3, requests.get());
+        assertEquals(2.0, meterRegistry.get("budgetwise.outbound.retries").counter().count());
+        assertEquals(1, meterRegistry.get("budgetwise.outbound.requests").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void testPost_NotRetriedByDefault() throws Exception {
+        failuresBeforeSuccess.set(1);
+        OkHttpClient client = client(policy(4, 3, 20, Duration.ofMinutes(1)));
+        Request post = get().newBuilder().post(RequestBody.create("{}", MediaType.get("application/json"))).build();
+
+        try (Response response = client.newCall(post).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testCircuit_OpensAndRecovers() throws Exception {
+        failuresBeforeSuccess.set(4);
+        OkHttpClient client = client(policy(4, 1, 4, Duration.ofMillis(200)));
+
+        for (int i = 0; i < 4; i++) {
+            client.newCall(get()).execute().close();
+        }
+        assertThrows(ProviderUnavailableException.class, () -> client.newCall(get()).execute());
+        assertEquals(4, requests.get());
+
+        Thread.sleep(250);
+        try (Response response = client.newCall(get()).execute()) {
+            assertEquals(200, response.code());
+        }
+        client.newCall(get()).execute().close();
+        assertEquals(6, requests.get());
+    }
+
+    @Test
+    public void testCircuit_ReleasesTrialWhenClientThrows() throws Exception {
+        failuresBeforeSuccess.set(4);
+        AtomicInteger throwing = new AtomicInteger();
+        OkHttpClient client = client(policy(4, 1, 4, Duration.ofMillis(200))).newBuilder()
+                .addInterceptor(chain -> {
+                    if (throwing.getAndDecrement() > 0) {
+                        throw new IllegalStateException("broken interceptor");
+                    }
+                    return chain.proceed(chain.request());
+                })
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            client.newCall(get()).execute().close();
+        }
+        Thread.sleep(250);
+        throwing.set(1);
+        assertThrows(IllegalStateException.class, () -> client.newCall(get()).execute());
+
+        // The half-open trial was handed back, so the next call still gets through
+        try (Response response = client.newCall(get()).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    @Test
+    public void testBulkhead_RejectsCallsOverLimit() throws Exception {
+        responseDelayMs = 300;
+        OkHttpClient client = client(policy(2, 1, 20, Duration.ofMinutes(1)));
+        CountDownLatch done = new CountDownLatch(2);
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                done.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                done.countDown();
+            }
+        };
+        client.newCall(get()).enqueue(callback);
+        client.newCall(get()).enqueue(callback);
+        Thread.sleep(100);
+
+        assertThrows(ProviderUnavailableException.class, () -> client.newCall(get()).execute());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, requests.get());
+    }
+}
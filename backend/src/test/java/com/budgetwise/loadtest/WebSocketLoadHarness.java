@@ -0,0 +1,119 @@
+package com.budgetwise.loadtest;
+
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manual load harness that opens and holds many concurrent STOMP sessions
+ * against a running backend, subscribed to a user's dashboard topic. It is not
+ * a unit test and does not run with the build.
+ *
+ * <pre>
+ * java -cp ... com.budgetwise.loadtest.WebSocketLoadHarness \
+ *     ws://localhost:8080/ws/websocket &lt;accessToken&gt; &lt;userId&gt; [sessions=10000] [holdSeconds=300]
+ * </pre>
+ *
+ * The client needs a file descriptor limit above the session count
+ * ({@code ulimit -n}).
+ */
+public class WebSocketLoadHarness {
+
+    private static final int MAX_CONCURRENT_HANDSHAKES = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: WebSocketLoadHarness <url> <accessToken> <userId> [sessions] [holdSeconds]");
+            System.exit(1);
+        }
+        String url = args[0];
+        String token = args[1];
+        String userId = args[2];
+        int sessions = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        int holdSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 300;
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(4);
+        heartbeatScheduler.setThreadNamePrefix("stomp-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new StringMessageConverter());
+        client.setTaskScheduler(heartbeatScheduler);
+
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.add("Authorization", "Bearer " + token);
+
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong messages = new AtomicLong();
+        AtomicLong handshakeNanos = new AtomicLong();
+        List<StompSession> connected = new CopyOnWriteArrayList<>();
+        Semaphore inFlight = new Semaphore(MAX_CONCURRENT_HANDSHAKES);
+        String topic = "/topic/user/" + userId + "/dashboard";
+
+        long started = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            inFlight.acquire();
+            long attemptStarted = System.nanoTime();
+            client.connectAsync(url, handshakeHeaders, new StompSessionHandlerAdapter() {
+                @Override
+                public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+                    session.subscribe(topic, new StompFrameHandler() {
+                        @Override
+                        public Type getPayloadType(StompHeaders headers) {
+                            return String.class;
+                        }
+
+                        @Override
+                        public void handleFrame(StompHeaders headers, Object payload) {
+                            messages.incrementAndGet();
+                        }
+                    });
+                }
+            }).whenComplete((session, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    failed.incrementAndGet();
+                } else {
+                    handshakeNanos.addAndGet(System.nanoTime() - attemptStarted);
+                    connected.add(session);
+                }
+            });
+        }
+        inFlight.acquire(MAX_CONCURRENT_HANDSHAKES);
+        inFlight.release(MAX_CONCURRENT_HANDSHAKES);
+
+        long rampMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        System.out.printf("Connected %d/%d sessions in %d ms (%d failed, avg handshake %d ms)%n",
+                connected.size(), sessions, rampMs, failed.get(),
+                connected.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(handshakeNanos.get() / connected.size()));
+
+        for (int elapsed = 0; elapsed < holdSeconds; elapsed += 10) {
+            Thread.sleep(10_000);
+            long open = connected.stream().filter(StompSession::isConnected).count();
+            System.out.printf("t+%ds: %d sessions open, %d messages received%n", elapsed + 10, open, messages.get());
+        }
+
+        connected.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+        client.stop();
+        heartbeatScheduler.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package com.budgetwise.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.Refill;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitBucketStoreTest {
+
+    private static Bucket newBucket() {
+        return Bucket4j.builder()
+                .addLimit(Bandwidth.classic(5, Refill.greedy(5, Duration.ofMinutes(1))))
+                .build();
+    }
+
+    @Test
+    public void testGetOrCreate_ReusesBucketForSameKey() {
+        RateLimitBucketStore store = new RateLimitBucketStore(60_000, 100);
+
+        Bucket first = store.getOrCreate("DEFAULT:ip:10.0.0.1", RateLimitBucketStoreTest::newBucket);
+        Bucket second = store.getOrCreate("DEFAULT:ip:10.0.0.1", RateLimitBucketStoreTest::newBucket);
+
+        assertSame(first, second);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testEvict_DropsIdleBucketsAndStaysBounded() {
+        RateLimitBucketStore store = new RateLimitBucketStore(60_000, 10);
+        Bucket idle = store.getOrCreate("idle", RateLimitBucketStoreTest::newBucket);
+
+        store.evict(System.currentTimeMillis() + 120_000);
+        assertEquals(0, store.size());
+        assertNotSame(idle, store.getOrCreate("idle", RateLimitBucketStoreTest::newBucket));
+
+        for (int i = 0; i < 50; i++) {
+            store.getOrCreate("ip:" + i, RateLimitBucketStoreTest::newBucket);
+        }
+        assertTrue(store.size() <= 10);
+    }
+}
@@ -0,0 +1,77 @@
+package com.budgetwise.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RedisRateLimitStoreTest {
+
+    /**
+     * Stand-in for the Redis script: a shared bucket per key that never refills
+     * during the test.
+     */
+    private static class InMemoryTokenBucket implements RemoteTokenBucket {
+        private final Map<String, Long> tokens = new HashMap<>();
+        int calls;
+
+        @Override
+        public synchronized long[] take(String key, long capacity, long windowMs, long requested) {
+            calls++;
+            long available = tokens.getOrDefault(key, capacity);
+            long granted = Math.min(available, requested);
+            tokens.put(key, available - granted);
+            return new long[] { granted, available - granted, granted == 0 ? windowMs : 0 };
+        }
+    }
+
+    @Test
+    public void testTryConsume_SharesQuotaAcrossNodes() {
+        InMemoryTokenBucket redis = new InMemoryTokenBucket();
+        RedisRateLimitStore nodeA = new RedisRateLimitStore(redis, 5, 60_000, 100, 5000);
+        RedisRateLimitStore nodeB = new RedisRateLimitStore(redis, 5, 60_000, 100, 5000);
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            RedisRateLimitStore node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.tryConsume("DEFAULT:user:1", 50, Duration.ofMinutes(1)).consumed()) {
+                allowed++;
+            }
+        }
+
+        assertEquals(50, allowed);
+    }
+
+    @Test
+    public void testTryConsume_PrefetchesTokensLocally() {
+        InMemoryTokenBucket redis = new InMemoryTokenBucket();
+        RedisRateLimitStore store = new RedisRateLimitStore(redis, 5, 60_000, 100, 5000);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(store.tryConsume("DEFAULT:ip:10.0.0.1", 100, Duration.ofMinutes(1)).consumed());
+        }
+
+        assertEquals(2, redis.calls);
+    }
+
+    @Test
+    public void testTryConsume_FallsBackToLocalBucketsWhenRedisFails() {
+        int[] calls = new int[1];
+        RemoteTokenBucket broken = (key, capacity, windowMs, requested) -> {
+            calls[0]++;
+            throw new IllegalStateException("connection refused");
+        };
+        RedisRateLimitStore store = new RedisRateLimitStore(broken, 5, 1000, 100, 60_000);
+
+        assertTrue(store.tryConsume("AUTH:ip:10.0.0.1", 1, Duration.ofMinutes(1)).consumed());
+        assertFalse(store.tryConsume("AUTH:ip:10.0.0.1", 1, Duration.ofMinutes(1)).consumed());
+        assertTrue(store.tryConsume("AUTH:ip:10.0.0.2", 1, Duration.ofMinutes(1)).consumed());
+        // Redis is not retried until the cooldown has passed
+        assertEquals(1, calls[0]);
+    }
+}
@@ -0,0 +1,73 @@
+package com.budgetwise.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CategoryClassifierTest {
+
+    private static CategoryClassifier trained() {
+        CategoryClassifier model = new CategoryClassifier();
+        model.learn("SWIGGY ORDER 1182 BANGALORE", 1, 1);
+        model.learn("Swiggy order 99", 1, 1);
+        model.learn("ZOMATO ONLINE ORDER", 1, 1);
+        model.learn("BESCOM ELECTRICITY BILL 0921", 2, 1);
+        model.learn("AIRTEL POSTPAID BILL", 2, 1);
+        model.learn("UPI/RENT/LANDLORD APRIL", 3, 1);
+        return model;
+    }
+
+    @Test
+    public void testFeatures_IgnoreCaseDigitsAndPunctuation() {
+        assertArrayEquals(CategoryClassifier.features("swiggy order"), CategoryClassifier.features("SWIGGY*ORDER 1182"));
+        assertEquals(3, CategoryClassifier.features("Swiggy order").length);
+        assertEquals(0, CategoryClassifier.features("12345 / #").length);
+    }
+
+    @Test
+    public void testPredict_LearnsFromExamples() {
+        CategoryClassifier model = trained();
+
+        CategoryClassifier.Prediction food = model.predict("swiggy 4412");
+        assertEquals(1, food.categoryId());
+        assertTrue(food.probability() > 0.6, "probability " + food.probability());
+        assertEquals(2, model.predict("Airtel bill March").categoryId());
+        assertNull(model.predict("completely unseen words"));
+    }
+
+    @Test
+    public void testLearn_CorrectionsOutweighEarlierExamples() {
+        CategoryClassifier model = trained();
+        assertEquals(2, model.predict("airtel").categoryId());
+
+        model.learn("AIRTEL XSTREAM", 4, 3);
+
+        assertEquals(4, model.predict("airtel xstream").categoryId());
+    }
+
+    @Test
+    public void testToBytes_RoundTripsAndForgetDropsCategory() {
+        CategoryClassifier model = trained();
+        CategoryClassifier restored = CategoryClassifier.fromBytes(model.toBytes());
+
+        assertEquals(model.totalExamples(), restored.totalExamples());
+        assertEquals(model.predict("zomato").probability(), restored.predict("zomato").probability(), 1e-12);
+
+        restored.forget(1);
+        assertEquals(2, restored.categoryCount());
+        assertNull(restored.predict("zomato"));
+    }
+
+    @Test
+    public void testFromBytes_RejectsCorruptCategoryCount() {
+        byte[] data = trained().toBytes();
+        // Category count follows the one-byte format version
+        data[1] = (byte) 0x80;
+        assertThrows(IllegalArgumentException.class, () -> CategoryClassifier.fromBytes(data));
+        assertThrows(IllegalArgumentException.class, () -> CategoryClassifier.fromBytes(new byte[] { 1 }));
+    }
+}
@@ -0,0 +1,61 @@
+package com.budgetwise.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CategoryNameIndexTest {
+
+    private CategoryNameIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new CategoryNameIndex();
+        index.add("Groceries", 2L);
+        index.add("Rent", 4L);
+        index.add("Utilities", 5L);
+        index.add("Entertainment", 7L);
+        index.add("Insurance", 11L);
+        index.add("Bills & EMI", 14L);
+    }
+
+    @Test
+    public void testFind_MatchesNormalizedNames() {
+        assertEquals(5L, index.find("utilities"));
+        assertEquals(5L, index.find("Utility"));
+        assertEquals(14L, index.find("  BILLS and emi "));
+    }
+
+    @Test
+    public void testFind_MapsCommonBillWordingThroughSynonyms() {
+        assertEquals(5L, index.find("Electricity"));
+        assertEquals(5L, index.find("Internet bill"));
+        assertEquals(4L, index.find("Housing"));
+        assertEquals(14L, index.find("Car loan"));
+    }
+
+    @Test
+    public void testFind_MatchesOnSharedWordsAndTypos() {
+        assertEquals(11L, index.find("Car Insurance"));
+        assertEquals(2L, index.find("Groceris"));
+        assertEquals(7L, index.find("Entertainmnt"));
+    }
+
+    @Test
+    public void testFind_ReturnsNullWhenNothingIsClose() {
+        assertNull(index.find("Zoo"));
+        assertNull(index.find(""));
+        assertNull(index.find(null));
+    }
+
+    @Test
+    public void testAdd_FirstCategoryWithSameNameWins() {
+        CategoryNameIndex userFirst = new CategoryNameIndex();
+        userFirst.add("rent", 100L);
+        userFirst.add("Rent", 4L);
+
+        assertEquals(100L, userFirst.find("Rent"));
+    }
+}
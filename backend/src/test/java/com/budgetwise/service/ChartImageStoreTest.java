@@ -0,0 +1,37 @@
+package com.budgetwise.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ChartImageStoreTest {
+
+    @Test
+    public void testResolve_DecodesDataUriAndDeduplicates() throws Exception {
+        ChartImageStore store = new ChartImageStore(1024);
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4, 5 };
+        String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
+
+        byte[] first = store.resolve(dataUri);
+        byte[] second = store.resolve(Base64.getEncoder().encodeToString(png));
+
+        assertArrayEquals(png, first);
+        assertSame(first, second);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testResolve_EvictsLeastRecentlyUsedWhenOverBudget() throws Exception {
+        ChartImageStore store = new ChartImageStore(20);
+
+        store.resolve(Base64.getEncoder().encodeToString(new byte[10]));
+        store.resolve(Base64.getEncoder().encodeToString(new byte[12]));
+
+        assertEquals(1, store.size());
+        assertEquals(12, store.sizeInBytes());
+    }
+}
@@ -0,0 +1,91 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Category;
+import com.budgetwise.entity.Transaction;
+import com.budgetwise.repository.BudgetRepository;
+import com.budgetwise.repository.CategoryRepository;
+import com.budgetwise.repository.SavingsGoalRepository;
+import com.budgetwise.repository.TransactionRepository;
+import com.budgetwise.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FinancialFactsServiceTest {
+
+    private TransactionRepository transactionRepository;
+    private FinancialFactsService service;
+
+    @BeforeEach
+    public void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        BudgetRepository budgetRepository = mock(BudgetRepository.class);
+        SavingsGoalRepository savingsGoalRepository = mock(SavingsGoalRepository.class);
+        UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+        Category food = new Category("Food & Dining", Category.CategoryType.EXPENSE, true);
+        food.setId(1L);
+        Category rent = new Category("Rent", Category.CategoryType.EXPENSE, true);
+        rent.setId(2L);
+        when(transactionRepository.sumByTypeAndCategory(eq(7L), any(), any())).thenReturn(List.of(
+                new Object[] { Transaction.TransactionType.INCOME, 9L, new BigDecimal("5000.00"), 1L },
+                new Object[] { Transaction.TransactionType.EXPENSE, 1L, new BigDecimal("320.50"), 6L },
+                new Object[] { Transaction.TransactionType.EXPENSE, 2L, new BigDecimal("1500.00"), 1L }));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(food, rent));
+        when(budgetRepository.findByUserId(anyLong())).thenReturn(List.of());
+        when(savingsGoalRepository.findByUserId(anyLong())).thenReturn(List.of());
+        when(userProfileRepository.findByUserId(anyLong())).thenReturn(Optional.empty());
+
+        service = new FinancialFactsService(transactionRepository, budgetRepository, savingsGoalRepository,
+                userProfileRepository, categoryRepository, 600_000, 100);
+    }
+
+    @Test
+    public void testGet_ComputesMonthTotalsAndTopCategories() {
+        FinancialFacts facts = service.get(7L);
+
+        assertEquals(new BigDecimal("5000.00"), facts.monthIncome());
+        assertEquals(new BigDecimal("1820.50"), facts.monthExpenses());
+        assertEquals(8, facts.transactionCount());
+        assertEquals("Rent", facts.topCategories(1).get(0).name());
+        assertEquals(2, facts.topCategories(5).size());
+    }
+
+    @Test
+    public void testGet_CachedUntilInvalidated() {
+        service.get(7L);
+        service.get(7L);
+        verify(transactionRepository, times(1)).sumByTypeAndCategory(eq(7L), any(), any());
+
+        service.invalidate(7L);
+        service.get(7L);
+        service.get(7L);
+        verify(transactionRepository, times(2)).sumByTypeAndCategory(eq(7L), any(), any());
+    }
+
+    @Test
+    public void testGet_NotCachedWhenInvalidatedWhileComputing() {
+        when(transactionRepository.sumByTypeAndCategory(eq(8L), any(), any())).thenAnswer(invocation -> {
+            service.invalidate(8L);
+            return List.of();
+        });
+
+        service.get(8L);
+        service.get(8L);
+
+        verify(transactionRepository, times(2)).sumByTypeAndCategory(eq(8L), any(), any());
+    }
+}
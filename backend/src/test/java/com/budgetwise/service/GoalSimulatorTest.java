@@ -0,0 +1,68 @@
+package com.budgetwise.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GoalSimulatorTest {
+
+    @Test
+    public void testRun_ConstantSavingsReachesGoalInExpectedMonth() {
+        int[][] completion = GoalSimulator.run(new double[] { 1000 }, new double[] { 1 }, new double[] { 100 },
+                1.0, 0, 60, 3000, 42L);
+
+        for (int month : completion[0]) {
+            assertEquals(10, month);
+        }
+    }
+
+    @Test
+    public void testRun_FinishedGoalsShareOfSavingsGoesToTheRest() {
+        int[][] completion = GoalSimulator.run(new double[] { 100, 300, 0 }, new double[] { 1, 1, 1 },
+                new double[] { 100 }, 1.0, 0, 60, 10, 1L);
+
+        assertEquals(2, completion[0][0]);
+        assertEquals(4, completion[1][0]);
+        assertEquals(0, completion[2][0]);
+    }
+
+    @Test
+    public void testRun_ZeroWeightGoalsFundedOnceWeightedGoalsFinish() {
+        // These weights leave about 1.5e-11 behind when subtracted from their sum one by one
+        int[][] completion = GoalSimulator.run(new double[] { 1, 1, 1, 1000 },
+                new double[] { 83646.31, 47635.84, 63907.17, 0 }, new double[] { 1000 }, 1.0, 0, 60, 10, 1L);
+
+        assertEquals(1, completion[0][0]);
+        assertEquals(1, completion[1][0]);
+        assertEquals(1, completion[2][0]);
+        assertEquals(2, completion[3][0]);
+    }
+
+    @Test
+    public void testRun_ScenarioAdjustsSavingsAndUnreachedGoalsPassHorizon() {
+        int[][] scaled = GoalSimulator.run(new double[] { 1000 }, new double[] { 1 }, new double[] { 100 },
+                0.5, 50, 60, 10, 1L);
+        int[][] negative = GoalSimulator.run(new double[] { 1000 }, new double[] { 1 }, new double[] { -50 },
+                1.0, 0, 60, 10, 1L);
+
+        assertEquals(10, scaled[0][0]);
+        assertEquals(61, negative[0][0]);
+    }
+
+    @Test
+    public void testRun_SameSeedGivesSameResult() {
+        double[] samples = { -200, 0, 150, 300, 450, 800 };
+        int[][] first = GoalSimulator.run(new double[] { 5000, 2000 }, new double[] { 2, 1 }, samples,
+                1.0, 0, 240, 5000, 7L);
+        int[][] second = GoalSimulator.run(new double[] { 5000, 2000 }, new double[] { 2, 1 }, samples,
+                1.0, 0, 240, 5000, 7L);
+
+        assertArrayEquals(first[0], second[0]);
+        assertArrayEquals(first[1], second[1]);
+        for (int month : first[1]) {
+            assertTrue(month >= 7 && month <= 241);
+        }
+    }
+}
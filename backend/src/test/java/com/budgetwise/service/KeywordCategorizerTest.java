@@ -0,0 +1,109 @@
+package com.budgetwise.service;
+
+import com.budgetwise.dto.CategorizationSuggestionDto;
+import com.budgetwise.entity.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeywordCategorizerTest {
+
+    private static List<Category> systemCategories() {
+        List<Category> categories = new ArrayList<>();
+        long id = 1;
+        for (String name : KeywordCategorizer.CATEGORY_KEYWORDS.keySet()) {
+            Category category = new Category(name, Category.CategoryType.EXPENSE, true);
+            category.setId(id++);
+            categories.add(category);
+        }
+        Category other = new Category(KeywordCategorizer.DEFAULT_CATEGORY, Category.CategoryType.EXPENSE, true);
+        other.setId(99L);
+        categories.add(other);
+        return categories;
+    }
+
+    @Test
+    public void testFind_ReportsOverlappingAndNestedKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("gas", "vegas", "as", "at&t", "t-mobile"));
+
+        BitSet found = automaton.find("LAS VEGAS AT&T / T-Mobile");
+
+        assertEquals(BitSet.valueOf(new long[] { 0b11111 }), found);
+        assertTrue(automaton.find("GAZ STATION").isEmpty());
+    }
+
+    @Test
+    public void testSuggest_PicksCategoryWithLargestShareOfKeywords() {
+        KeywordCategorizer.Matcher matcher = KeywordCategorizer.compile(systemCategories(), Long.MAX_VALUE);
+
+        CategorizationSuggestionDto suggestion = matcher.suggest("UBER TRIP - taxi to airport");
+
+        assertEquals("Travel", suggestion.getCategoryName());
+        assertEquals(20.0, suggestion.getConfidence(), 1e-9);
+        assertEquals("Other Expense", matcher.suggest("zzz").getCategoryName());
+        assertEquals(99L, matcher.suggest("   ").getCategoryId());
+    }
+
+    @Test
+    public void testSuggest_OnlyUsersCategoriesAndNoDefault() {
+        Category rent = new Category("Rent", Category.CategoryType.EXPENSE, false);
+        rent.setId(7L);
+        KeywordCategorizer.Matcher matcher = KeywordCategorizer.compile(List.of(rent), Long.MAX_VALUE);
+
+        assertEquals(7L, matcher.suggest("Monthly rent, apartment 4B").getCategoryId());
+        assertNull(matcher.suggest("Starbucks coffee"));
+    }
+
+    /**
+     * Compares the automaton against scanning the description once per
+     * keyword, over 100k generated descriptions.
+     */
+    @Test
+    public void testSuggest_MatchesKeywordByKeywordScan() {
+        List<String> words = new ArrayList<>();
+        KeywordCategorizer.CATEGORY_KEYWORDS.values().forEach(words::addAll);
+        words.addAll(List.of("payment", "pos", "#1182", "ref", "ÉTÉ", "online", "card", "las", "vegas", "-", "&"));
+        KeywordCategorizer.Matcher matcher = KeywordCategorizer.compile(systemCategories(), Long.MAX_VALUE);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int n = 0; n < 100_000; n++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = random.nextInt(1, 6); w > 0; w--) {
+                String word = words.get(random.nextInt(words.size()));
+                description.append(random.nextBoolean() ? word.toUpperCase() : word)
+                        .append(random.nextInt(4) == 0 ? "" : " ");
+            }
+            String text = description.toString();
+
+            CategorizationSuggestionDto suggestion = matcher.suggest(text);
+            assertEquals(bestByScan(text.toLowerCase()), suggestion.getCategoryName(), text);
+        }
+    }
+
+    private static String bestByScan(String text) {
+        String best = KeywordCategorizer.DEFAULT_CATEGORY;
+        double bestScore = 0;
+        for (Map.Entry<String, List<String>> entry : KeywordCategorizer.CATEGORY_KEYWORDS.entrySet()) {
+            int matches = 0;
+            for (String keyword : entry.getValue()) {
+                if (text.contains(keyword)) {
+                    matches++;
+                }
+            }
+            double score = (double) matches / entry.getValue().size();
+            if (score > bestScore) {
+                best = entry.getKey();
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+}
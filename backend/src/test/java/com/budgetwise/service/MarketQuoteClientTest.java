@@ -0,0 +1,130 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import com.budgetwise.service.MarketQuoteClient.QuoteKey;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client against a local stub of the quote API.
+ */
+public class MarketQuoteClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.createContext("/query", exchange -> {
+            requests.incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                String query = exchange.getRequestURI().getQuery();
+                String body;
+                if (query.contains("symbol=FAIL")) {
+                    body = "{\"Note\": \"Thank you for using Alpha Vantage! Please slow down.\"}";
+                } else if (query.contains("symbol=NOPE")) {
+                    body = "{\"Global Quote\": {}}";
+                } else if (query.contains("function=CURRENCY_EXCHANGE_RATE")) {
+                    body = "{\"Realtime Currency Exchange Rate\": {\"5. Exchange Rate\": \"64000.50\"}}";
+                } else {
+                    body = "{\"Global Quote\": {\"01. symbol\": \"X\", \"05. price\": \"123.4500\"}}";
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private MarketQuoteClient client(int requestsPerMinute, int maxConcurrency) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/query";
+        return new MarketQuoteClient(new OkHttpClient(), url, "test", "USD", requestsPerMinute, maxConcurrency);
+    }
+
+    @Test
+    public void testFetch_ParsesQuotesAndUnknownAndThrottled() {
+        MarketQuoteClient client = client(100, 4);
+        QuoteKey stock = new QuoteKey(" aapl ", Investment.InvestmentType.STOCK);
+
+        assertEquals("AAPL", stock.symbol());
+        assertEquals(new BigDecimal("123.4500"), client.fetch(stock, Duration.ofSeconds(1)).join().price());
+        assertEquals(new BigDecimal("64000.50"),
+                client.fetch(new QuoteKey("BTC", Investment.InvestmentType.CRYPTO), Duration.ofSeconds(1)).join().price());
+        assertNull(client.fetch(new QuoteKey("NOPE", Investment.InvestmentType.STOCK), Duration.ofSeconds(1)).join());
+        assertThrows(CompletionException.class,
+                () -> client.fetch(new QuoteKey("FAIL", Investment.InvestmentType.STOCK), Duration.ofSeconds(1)).join());
+    }
+
+    @Test
+    public void testFetch_BoundsConcurrency() {
+        MarketQuoteClient client = client(1000, 3);
+        List<CompletableFuture<MarketQuoteClient.Quote>> calls = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            calls.add(client.fetch(new QuoteKey("SYM" + i, Investment.InvestmentType.STOCK), Duration.ofSeconds(1)));
+        }
+
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(24, requests.get());
+        assertTrue(maxConcurrent.get() <= 3, "at most 3 requests in flight, saw " + maxConcurrent.get());
+    }
+
+    @Test
+    public void testFetch_FailsWhenQuotaRunsOut() {
+        MarketQuoteClient client = client(5, 4);
+        List<CompletableFuture<MarketQuoteClient.Quote>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(client.fetch(new QuoteKey("SYM" + i, Investment.InvestmentType.STOCK), Duration.ofMillis(200)));
+        }
+
+        long failed = calls.stream().filter(call -> {
+            try {
+                call.join();
+                return false;
+            } catch (CompletionException e) {
+                return e.getCause() instanceof MarketQuoteClient.QuotaExceededException;
+            }
+        }).count();
+
+        assertEquals(5, requests.get());
+        assertEquals(5, failed);
+    }
+}
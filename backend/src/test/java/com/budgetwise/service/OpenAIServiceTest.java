@@ -0,0 +1,109 @@
+package com.budgetwise.service;
+
+import com.budgetwise.config.ExternalApiConfig;
+import com.budgetwise.http.OutboundHttpClients;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs batch categorization against a local stub of the completions API.
+ */
+public class OpenAIServiceTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> bodies = new ArrayList<>();
+    private volatile int status = 200;
+    private volatile String answer = "1. Groceries\\n2. Transportation\\n3. Something else\\n4. other";
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/completions", exchange -> {
+            requests.incrementAndGet();
+            synchronized (bodies) {
+                bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            byte[] bytes = ("{\"choices\": [{\"text\": \"" + answer + "\"}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private OpenAIService service() {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+        ExternalApiConfig config = new ExternalApiConfig() {
+            @Override
+            public String getOpenaiApiUrl() {
+                return url;
+            }
+
+            @Override
+            public String getOpenaiApiKey() {
+                return "test";
+            }
+        };
+        return new OpenAIService(config, new OutboundHttpClients(
+                new OkHttpClient(), new StandardEnvironment(), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void testCategorizeBatch_OneRequestForAllDescriptions() {
+        List<String> result = service().categorizeBatchAsync(
+                List.of("BIGBASKET ORDER 1182", "UBER TRIP", "XYZ PAYMENT", "ATM FEE")).join();
+
+        assertEquals(1, requests.get());
+        assertTrue(bodies.get(0).contains("BIGBASKET ORDER 1182") && bodies.get(0).contains("ATM FEE"));
+        assertEquals(Arrays.asList("Groceries", "Transportation", null, "Other"), result);
+    }
+
+    @Test
+    public void testCategorizeBatch_MissingLinesAreNull() {
+        answer = "2. Rent";
+
+        List<String> result = service().categorizeBatchAsync(List.of("a", "b", "c")).join();
+
+        assertEquals(Arrays.asList(null, "Rent", null), result);
+    }
+
+    @Test
+    public void testCategorizeBatch_FailsOnServerError() {
+        status = 500;
+
+        assertThrows(CompletionException.class,
+                () -> service().categorizeBatchAsync(List.of("UBER TRIP")).join());
+    }
+
+    @Test
+    public void testNormalize_KeepsWordsOnly() {
+        assertEquals("uber trip", AiCategoryCache.normalize("  UBER *TRIP 4471-22 "));
+        assertEquals("h&m store", AiCategoryCache.normalize("H&M Store #12"));
+        assertEquals("", AiCategoryCache.normalize("12345"));
+    }
+}
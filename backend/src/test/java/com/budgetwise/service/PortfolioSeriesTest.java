@@ -0,0 +1,120 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PortfolioSeriesTest {
+
+    private static final int STOCK = Investment.InvestmentType.STOCK.ordinal();
+    private static final int CRYPTO = Investment.InvestmentType.CRYPTO.ordinal();
+
+    private static PortfolioSeries series(double[] values, double[] flows) {
+        long[] days = new long[values.length];
+        double[][] byType = new double[PortfolioSeries.TYPES.length][values.length];
+        for (int i = 0; i < values.length; i++) {
+            days[i] = 19_000 + i;
+            byType[STOCK][i] = values[i];
+        }
+        return new PortfolioSeries(days, values, flows, byType);
+    }
+
+    @Test
+    public void testTimeWeightedReturn_IgnoresDeposits() {
+        // +10%, then a 1000 deposit, then +10% again
+        PortfolioSeries series = series(
+                new double[] { 1000, 1100, 2100, 2310 },
+                new double[] { 0, 0, 1000, 0 });
+
+        assertEquals(0.21, series.timeWeightedReturn(), 1e-9);
+    }
+
+    @Test
+    public void testDrawdown_MeasuredOnGrowthNotValue() {
+        // Value falls because of a sale, then the market falls 20% and recovers half
+        PortfolioSeries series = series(
+                new double[] { 1000, 500, 400, 450 },
+                new double[] { 0, -500, 0, 0 });
+
+        double[] drawdown = series.drawdown();
+
+        assertEquals(0.20, drawdown[0], 1e-9);
+        assertEquals(1, (int) drawdown[1]);
+        assertEquals(2, (int) drawdown[2]);
+        assertEquals(0.10, drawdown[3], 1e-9);
+    }
+
+    @Test
+    public void testTimeWeightedReturn_SaleAtAGainIsNotADrawdown() {
+        // A holding bought for 50 rises to 200 and is sold; the sale takes out its market value
+        Investment held = investment(1L, "1", "200");
+        Map<Long, BigDecimal[]> previous = PortfolioSnapshotJob.parseHoldings(
+                PortfolioSnapshotJob.formatHoldings(List.of(held)));
+        double flow = PortfolioSnapshotJob.netFlow(previous, List.of()).doubleValue();
+
+        PortfolioSeries series = series(new double[] { 50, 200, 0 }, new double[] { 0, 0, flow });
+
+        assertEquals(-200, flow, 1e-9);
+        assertEquals(3.0, series.timeWeightedReturn(), 1e-9);
+        assertEquals(0, series.drawdown()[0], 1e-9);
+        assertEquals(-200, series.netFlows(), 1e-9);
+    }
+
+    @Test
+    public void testNetFlow_ValuesChangedQuantityAtMarketPrice() {
+        Map<Long, BigDecimal[]> previous = PortfolioSnapshotJob.parseHoldings("1:10:20.00,2:5:8");
+
+        // Bought 2 more of holding 1 at today's 25, holding 2 sold, holding 3 bought at 40
+        BigDecimal flow = PortfolioSnapshotJob.netFlow(previous,
+                List.of(investment(1L, "12", "25.00"), investment(3L, "1", "40")));
+
+        assertEquals(0, new BigDecimal("50.00").compareTo(flow));
+    }
+
+    private static Investment investment(Long id, String quantity, String price) {
+        Investment investment = new Investment();
+        investment.setId(id);
+        investment.setQuantity(new BigDecimal(quantity));
+        investment.setBuyPrice(new BigDecimal("1.00"));
+        investment.setCurrentPrice(new BigDecimal(price));
+        return investment;
+    }
+
+    @Test
+    public void testDriftFromStart_HalfOfAbsoluteWeightChanges() {
+        long[] days = { 1, 2 };
+        double[] values = { 1000, 1000 };
+        double[][] byType = new double[PortfolioSeries.TYPES.length][2];
+        byType[STOCK][0] = 1000;
+        byType[STOCK][1] = 700;
+        byType[CRYPTO][1] = 300;
+        PortfolioSeries series = new PortfolioSeries(days, values, values, byType);
+
+        assertEquals(0.30, series.driftFromStart()[1], 1e-9);
+        assertEquals(0.70, series.weights(1)[STOCK], 1e-9);
+    }
+
+    @Test
+    public void testTypeValues_RoundTrip() {
+        double[] byType = new double[PortfolioSeries.TYPES.length];
+        byType[STOCK] = 1234.5;
+        byType[CRYPTO] = 99;
+
+        String text = PortfolioSeries.formatTypeValues(byType);
+        double[][] parsed = new double[PortfolioSeries.TYPES.length][1];
+        PortfolioSeries.parseTypeValues(text + ",UNKNOWN:5.00", parsed, 0);
+
+        assertEquals("STOCK:1234.50,CRYPTO:99.00", text);
+        double[] column = new double[byType.length];
+        for (int t = 0; t < column.length; t++) {
+            column[t] = parsed[t][0];
+        }
+        assertArrayEquals(byType, column, 1e-9);
+    }
+}
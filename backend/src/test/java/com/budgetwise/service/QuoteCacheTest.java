@@ -0,0 +1,180 @@
+package com.budgetwise.service;
+
+import com.budgetwise.entity.Investment;
+import com.budgetwise.service.MarketQuoteClient.Quote;
+import com.budgetwise.service.MarketQuoteClient.QuoteKey;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises the cache against a scripted client; each fetch is answered by
+ * completing the future it returned.
+ */
+public class QuoteCacheTest {
+
+    private static final QuoteKey AAPL = new QuoteKey("AAPL", Investment.InvestmentType.STOCK);
+
+    private static class ScriptedClient extends MarketQuoteClient {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<CompletableFuture<Quote>> pending = new ArrayList<>();
+
+        ScriptedClient() {
+            super(new OkHttpClient(), "http://127.0.0.1:1/query", "test", "USD", 1000, 1);
+        }
+
+        @Override
+        public synchronized CompletableFuture<Quote> fetch(QuoteKey key, Duration maxQuotaWait) {
+            calls.incrementAndGet();
+            CompletableFuture<Quote> call = new CompletableFuture<>();
+            pending.add(call);
+            return call;
+        }
+
+        synchronized CompletableFuture<Quote> last() {
+            return pending.get(pending.size() - 1);
+        }
+    }
+
+    private static Quote quote(String price) {
+        return new Quote(new BigDecimal(price), null, null, null);
+    }
+
+    @Test
+    public void testGet_CoalescesConcurrentMisses() throws Exception {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 60_000, 60_000, 60_000, 100);
+
+        List<CompletableFuture<Quote>> lookups = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                CompletableFuture<Quote> lookup = cache.get(AAPL, Duration.ofSeconds(1));
+                synchronized (lookups) {
+                    lookups.add(lookup);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        client.last().complete(quote("10.00"));
+
+        assertEquals(1, client.calls.get());
+        for (CompletableFuture<Quote> lookup : lookups) {
+            assertEquals(new BigDecimal("10.00"), lookup.join().price());
+        }
+        assertEquals(new BigDecimal("10.00"), cache.get(AAPL, Duration.ofSeconds(1)).join().price());
+        assertEquals(1, client.calls.get());
+    }
+
+    @Test
+    public void testGet_ServesStaleWhileRevalidating() throws Exception {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 20, 60_000, 60_000, 100);
+        CompletableFuture<Quote> first = cache.get(AAPL, Duration.ofSeconds(1));
+        client.last().complete(quote("10.00"));
+        first.join();
+        Thread.sleep(40);
+
+        Quote stale = cache.get(AAPL, Duration.ofSeconds(1)).join();
+        cache.get(AAPL, Duration.ofSeconds(1)).join();
+
+        assertEquals(new BigDecimal("10.00"), stale.price());
+        assertEquals(2, client.calls.get(), "one revalidation for both stale reads");
+
+        client.last().complete(quote("11.00"));
+        assertEquals(new BigDecimal("11.00"), cache.get(AAPL, Duration.ofSeconds(1)).join().price());
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    public void testGet_RemembersUnknownAndFailedSymbols() {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 60_000, 60_000, 60_000, 100);
+        QuoteKey broken = new QuoteKey("BROKEN", Investment.InvestmentType.STOCK);
+
+        CompletableFuture<Quote> unknown = cache.get(AAPL, Duration.ofSeconds(1));
+        client.last().complete(null);
+        CompletableFuture<Quote> failed = cache.get(broken, Duration.ofSeconds(1));
+        client.last().completeExceptionally(new RuntimeException("HTTP 500"));
+
+        assertNull(unknown.join());
+        assertNull(failed.join());
+        assertNull(cache.get(AAPL, Duration.ofSeconds(1)).join());
+        assertNull(cache.get(broken, Duration.ofSeconds(1)).join());
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    public void testGet_RetriesAfterQuotaExhausted() {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 60_000, 60_000, 60_000, 100);
+
+        CompletableFuture<Quote> throttled = cache.get(AAPL, Duration.ofSeconds(1));
+        client.last().completeExceptionally(new MarketQuoteClient.QuotaExceededException());
+        assertNull(throttled.join());
+
+        CompletableFuture<Quote> retried = cache.get(AAPL, Duration.ofSeconds(1));
+        client.last().complete(quote("10.00"));
+        assertEquals(new BigDecimal("10.00"), retried.join().price());
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    public void testGetAll_ReturnsAvailableQuotes() {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 60_000, 60_000, 60_000, 100);
+        QuoteKey btc = new QuoteKey("BTC", Investment.InvestmentType.CRYPTO);
+        CompletableFuture<Quote> warm = cache.get(btc, Duration.ofSeconds(1));
+        client.last().complete(quote("64000.50"));
+        warm.join();
+
+        Map<QuoteKey, Quote> quotes = cache.getAll(List.of(AAPL, btc), Duration.ofMillis(100));
+
+        assertEquals(1, quotes.size());
+        assertSame(warm.join(), quotes.get(btc));
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test
+    public void testGetAllFresh_WaitsForQuotesOlderThanMaxAge() throws Exception {
+        ScriptedClient client = new ScriptedClient();
+        QuoteCache cache = new QuoteCache(client, 60_000, 60_000, 60_000, 100);
+        CompletableFuture<Quote> first = cache.get(AAPL, Duration.ofSeconds(1));
+        client.last().complete(quote("10.00"));
+        first.join();
+        Thread.sleep(40);
+
+        // Within the TTL, but older than the refresh accepts: fetched again and waited for
+        Thread answer = new Thread(() -> {
+            while (client.calls.get() < 2) {
+                Thread.onSpinWait();
+            }
+            client.last().complete(quote("11.00"));
+        });
+        answer.start();
+        Map<QuoteKey, Quote> quotes = cache.getAllFresh(List.of(AAPL), Duration.ofSeconds(5), Duration.ofMillis(20));
+        answer.join();
+
+        assertEquals(new BigDecimal("11.00"), quotes.get(AAPL).price());
+        assertEquals(2, client.calls.get());
+        assertEquals(new BigDecimal("11.00"),
+                cache.getAllFresh(List.of(AAPL), Duration.ofSeconds(5), Duration.ofSeconds(60)).get(AAPL).price());
+        assertEquals(2, client.calls.get());
+    }
+}